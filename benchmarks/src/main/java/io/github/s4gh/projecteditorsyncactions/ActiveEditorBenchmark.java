@@ -0,0 +1,89 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openide.cookies.EditorCookie;
+import org.openide.filesystems.FileObject;
+import org.openide.loaders.DataObject;
+import org.openide.windows.TopComponent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code Installer.getActiveEditorFile()}: the event-fed index against the registry scan
+ * it replaced, with 10, 100 and 1000 open editors. The showing editor is the last one in
+ * registry order, which is the scan's worst case.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ActiveEditorBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int editors;
+
+    private Synthetic.Registry registry;
+    private ActiveEditorTracker tracker;
+
+    @Setup
+    public void setUp() throws IOException {
+        registry = new Synthetic.Registry();
+        Synthetic.FakeEditorTopComponent[] tcs = Synthetic.editors(editors);
+        for (int i = 0; i < tcs.length; i++) {
+            registry.opened.add(tcs[i]);
+            if (i % 10 == 0) {
+                registry.opened.add(new Synthetic.FakeToolTopComponent());
+            }
+        }
+        Synthetic.FakeEditorTopComponent active = tcs[tcs.length - 1];
+        active.showing = true;
+        registry.activated = active;
+
+        tracker = new ActiveEditorTracker(() -> registry, registry.opened::contains);
+        for (TopComponent tc : tcs) {
+            tracker.opened(tc);
+        }
+        tracker.activated(active);
+    }
+
+    @Benchmark
+    public FileObject indexed() {
+        return tracker.activeEditorFile();
+    }
+
+    /** The pre-index implementation, kept here as the baseline. */
+    @Benchmark
+    public FileObject registryScan() {
+        for (TopComponent tc : registry.getOpened()) {
+            if (tc.isShowing() && isEditorWindowLegacy(tc)) {
+                DataObject dataObj = tc.getLookup().lookup(DataObject.class);
+                if (dataObj != null) {
+                    return dataObj.getPrimaryFile();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isEditorWindowLegacy(TopComponent tc) {
+        EditorCookie ec = tc.getLookup().lookup(EditorCookie.class);
+        if (ec != null) {
+            String className = tc.getClass().getName().toLowerCase();
+            return className.contains("editor")
+                    || className.contains("multiview");
+        }
+        return false;
+    }
+}
@@ -0,0 +1,173 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.JTree;
+import javax.swing.SwingUtilities;
+import org.openide.explorer.view.BeanTreeView;
+import org.openide.windows.TopComponent;
+
+/**
+ * Headless open/close churn of explorer views against {@link Installer}, checking that
+ * the header lifecycle does not leak.
+ * <p>
+ * Every cycle opens, installs on and closes a fresh Projects or Favorites TopComponent,
+ * and does the same on two long-lived views (the real ones are singletons that get
+ * reopened). The run fails when
+ * <ul>
+ * <li>retained heap after warm-up grows by more than {@code churn.maxRetainedBytes},</li>
+ * <li>listener counts on the long-lived views drift from their first-cycle values,</li>
+ * <li>closed fresh views are not collectable, or</li>
+ * <li>{@link Installer#tearDown()} leaves a listener or client property behind.</li>
+ * </ul>
+ * This is a plain {@code main}, not a JMH benchmark; {@code mvn verify} in {@code benchmarks} runs it
+ * and fails on a non-zero exit. The module's own build runs a bounded version, {@code ChurnStressTest}.
+ * By hand:
+ * {@code java -Djava.awt.headless=true -cp benchmarks/target/benchmarks.jar io.github.s4gh.projecteditorsyncactions.ChurnStress}
+ */
+public final class ChurnStress {
+
+    private static final int CYCLES = Integer.getInteger("churn.cycles", 10_000);
+    private static final int WARMUP = Math.min(500, CYCLES / 10);
+    private static final long MAX_RETAINED_BYTES = Long.getLong("churn.maxRetainedBytes", 4L << 20);
+    private static final int SAMPLE_EVERY = 1_000;
+
+    // client properties the module may put on a TopComponent or its BeanTreeView
+    private static final String[] TC_PROPERTIES = {
+        "s4gh.overlays.viewKind", "s4gh.overlays.treeHandles", "s4gh.overlays.lazyTrigger",
+        "s4gh.overlays.tcContainerListener"
+    };
+    private static final String[] VIEW_PROPERTIES = {
+        "s4gh.overlays.installed", "s4gh.overlays.header", "s4gh.overlays.originalHeaderView",
+        "s4gh.follow.lastFile"
+    };
+
+    private final List<String> failures = new ArrayList<>();
+
+    private ChurnStress() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ChurnStress stress = new ChurnStress();
+        SwingUtilities.invokeAndWait(stress::run);
+        if (!stress.failures.isEmpty()) {
+            stress.failures.forEach(f -> System.err.println("FAIL: " + f));
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+
+    private void run() {
+        Installer installer = new Installer();
+        Synthetic.FakeExplorerTopComponent projects = new Synthetic.FakeExplorerTopComponent(ViewKind.LOGICAL);
+        Synthetic.FakeExplorerTopComponent favorites = new Synthetic.FakeExplorerTopComponent(ViewKind.FAVORITES);
+        int[] pristineProjects = listenerCounts(projects);
+        int[] pristineFavorites = listenerCounts(favorites);
+        int[] steadyProjects = null;
+        int[] steadyFavorites = null;
+
+        List<WeakReference<TopComponent>> closed = new ArrayList<>();
+        long baseline = 0;
+        for (int i = 0; i < CYCLES; i++) {
+            Synthetic.FakeExplorerTopComponent fresh =
+                    new Synthetic.FakeExplorerTopComponent(i % 2 == 0 ? ViewKind.LOGICAL : ViewKind.FAVORITES);
+            cycle(installer, fresh);
+            cycle(installer, projects);
+            cycle(installer, favorites);
+            if (i == 0) {
+                steadyProjects = listenerCounts(projects);
+                steadyFavorites = listenerCounts(favorites);
+            } else {
+                expectCounts("Projects after cycle " + i, steadyProjects, listenerCounts(projects));
+                expectCounts("Favorites after cycle " + i, steadyFavorites, listenerCounts(favorites));
+            }
+            if (i % SAMPLE_EVERY == 0) {
+                closed.add(new WeakReference<>(fresh));
+            }
+            if (i == WARMUP) {
+                baseline = usedHeap();
+            }
+            if (failures.size() > 20) {
+                return; // the first few are enough to go on
+            }
+        }
+
+        long retained = usedHeap() - baseline;
+        System.out.printf("%d cycles, retained after warm-up: %d KB (limit %d KB)%n",
+                CYCLES, retained >> 10, MAX_RETAINED_BYTES >> 10);
+        if (retained > MAX_RETAINED_BYTES) {
+            failures.add("retained heap grew by " + (retained >> 10) + " KB");
+        }
+        int alive = 0;
+        for (WeakReference<TopComponent> ref : closed) {
+            if (ref.get() != null) {
+                alive++;
+            }
+        }
+        if (alive > 0) {
+            failures.add(alive + " of " + closed.size() + " sampled closed views are still reachable");
+        }
+
+        installer.tearDown();
+        expectCounts("Projects after teardown", pristineProjects, listenerCounts(projects));
+        expectCounts("Favorites after teardown", pristineFavorites, listenerCounts(favorites));
+        expectClean(projects);
+        expectClean(favorites);
+    }
+
+    /** What the registry listener does for an opened, activated and closed supported view. */
+    private static void cycle(Installer installer, TopComponent tc) {
+        installer.viewOpened(tc);
+        installer.ensureButtonsInstalled(tc);
+        installer.viewClosed(tc);
+    }
+
+    /** TopComponent container/hierarchy, BeanTreeView hierarchy and JTree mouse listener counts. */
+    private static int[] listenerCounts(Synthetic.FakeExplorerTopComponent tc) {
+        BeanTreeView view = tc.view;
+        JTree tree = TreeHandles.resolveTreeFrom(view);
+        return new int[] {
+            tc.getContainerListeners().length,
+            tc.getHierarchyListeners().length,
+            view.getHierarchyListeners().length,
+            tree != null ? tree.getMouseListeners().length : 0
+        };
+    }
+
+    private void expectCounts(String what, int[] expected, int[] actual) {
+        if (!java.util.Arrays.equals(expected, actual)) {
+            failures.add(what + ": listener counts " + java.util.Arrays.toString(actual)
+                    + ", expected " + java.util.Arrays.toString(expected));
+        }
+    }
+
+    private void expectClean(Synthetic.FakeExplorerTopComponent tc) {
+        for (String key : TC_PROPERTIES) {
+            if (tc.getClientProperty(key) != null) {
+                failures.add("TopComponent keeps " + key + " after teardown");
+            }
+        }
+        for (String key : VIEW_PROPERTIES) {
+            if (tc.view.getClientProperty(key) != null) {
+                failures.add("BeanTreeView keeps " + key + " after teardown");
+            }
+        }
+        if (tc.view.getColumnHeader() != null && tc.view.getColumnHeader().getView() != null) {
+            failures.add("BeanTreeView header not restored after teardown");
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.util.concurrent.TimeUnit;
+import javax.swing.JTree;
+import javax.swing.tree.DefaultTreeModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Favorites-style "Collapse All" on a fully expanded tree of 1k to 100k rows: the former
+ * row-by-row loop against {@link TreeCollapser}. Each invocation starts from a freshly
+ * expanded tree; at 100k rows that setup takes longer than the measured collapse.
+ * <p>
+ * Runs on the benchmark thread rather than the EDT; the trees are never shown.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CollapseBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int rows;
+
+    private DefaultTreeModel model;
+    private JTree tree;
+
+    @Setup(Level.Trial)
+    public void buildModel() {
+        model = Synthetic.treeModel(rows, 10);
+    }
+
+    @Setup(Level.Invocation)
+    public void expandAll() {
+        tree = new JTree(model);
+        tree.setRootVisible(false);
+        tree.setShowsRootHandles(true);
+        tree.setScrollsOnExpand(false);
+        // rows grow while expanding, so walking them top-down reaches every node
+        for (int row = 0; row < tree.getRowCount(); row++) {
+            tree.expandRow(row);
+        }
+    }
+
+    /** The fallback collapse before TreeCollapser. */
+    @Benchmark
+    public int rowByRow() {
+        for (int row = tree.getRowCount() - 1; row >= 0; row--) {
+            tree.collapseRow(row);
+        }
+        return tree.getRowCount();
+    }
+
+    @Benchmark
+    public int bulk() {
+        return TreeCollapser.collapseAll(tree).collapsed();
+    }
+}
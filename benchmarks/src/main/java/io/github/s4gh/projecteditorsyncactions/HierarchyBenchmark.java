@@ -0,0 +1,88 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.util.concurrent.TimeUnit;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JTree;
+import org.openide.explorer.view.BeanTreeView;
+import org.openide.windows.TopComponent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Component-hierarchy lookups done on view activation and on every header button click:
+ * the depth-first {@code findChild}, {@code resolveTreeFrom}, and the cached
+ * {@link TreeHandles} that replaced repeated walks.
+ * <p>
+ * The synthetic TopComponent nests the BeanTreeView {@code depth} panels deep; every
+ * level also carries {@code decoys} sibling panels with a few children each, which the
+ * walk has to visit first, like the custom panels of a real Projects view.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class HierarchyBenchmark {
+
+    @Param({"4", "16", "64"})
+    int depth;
+
+    @Param({"0", "8"})
+    int decoys;
+
+    private TopComponent tc;
+    private BeanTreeView btv;
+
+    @Setup
+    public void setUp() {
+        tc = new TopComponent();
+        JPanel parent = new JPanel();
+        tc.add(parent);
+        for (int level = 0; level < depth; level++) {
+            for (int d = 0; d < decoys; d++) {
+                JPanel decoy = new JPanel();
+                for (int c = 0; c < 3; c++) {
+                    decoy.add(new JLabel("decoy"));
+                }
+                parent.add(decoy);
+            }
+            JPanel next = new JPanel();
+            parent.add(next);
+            parent = next;
+        }
+        btv = new BeanTreeView();
+        parent.add(btv);
+        TreeHandles.beanTreeView(tc); // prime the cache
+    }
+
+    @Benchmark
+    public BeanTreeView findChild() {
+        return TreeHandles.findChild(tc, BeanTreeView.class);
+    }
+
+    @Benchmark
+    public JTree resolveTreeFrom() {
+        return TreeHandles.resolveTreeFrom(btv);
+    }
+
+    @Benchmark
+    public BeanTreeView cachedBeanTreeView() {
+        return TreeHandles.beanTreeView(tc);
+    }
+
+    @Benchmark
+    public JTree cachedTree() {
+        return TreeHandles.tree(tc);
+    }
+}
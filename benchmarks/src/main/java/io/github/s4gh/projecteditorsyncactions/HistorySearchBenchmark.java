@@ -0,0 +1,61 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One keystroke of the navigation history popup: {@link NavigationHistory#search} over a
+ * full history of 1000 and 4096 Java-like file names, for a query whose rarest character
+ * has an empty posting list, one that is a common prefix and one that matches only as a
+ * subsequence. The target is well under a millisecond.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class HistorySearchBenchmark {
+
+    private static final String[] WORDS = {
+        "Project", "Editor", "Sync", "Node", "Tree", "View", "Action", "Service", "Factory",
+        "Impl", "Test", "Model", "Handler", "Provider", "Cache", "Util"
+    };
+
+    @Param({"1000", "4096"})
+    int entries;
+
+    @Param({"qz", "proj", "pjedsv"})
+    String query;
+
+    private NavigationHistory history;
+
+    @Setup
+    public void setUp() {
+        history = new NavigationHistory(entries);
+        Random random = new Random(42);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < entries; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + WORDS[random.nextInt(WORDS.length)]
+                    + WORDS[random.nextInt(WORDS.length)] + i + ".java";
+            history.visited("file:/src/p" + (i % 97) + "/" + name, name, now - random.nextInt(30) * 86_400_000L);
+        }
+    }
+
+    @Benchmark
+    public List<NavigationHistory.Match> search() {
+        return history.search(query, 50);
+    }
+}
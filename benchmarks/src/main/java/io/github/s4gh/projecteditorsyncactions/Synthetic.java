@@ -0,0 +1,129 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.awt.BorderLayout;
+import java.beans.PropertyChangeListener;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import org.openide.cookies.EditorCookie;
+import org.openide.explorer.ExplorerManager;
+import org.openide.explorer.view.BeanTreeView;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileSystem;
+import org.openide.filesystems.FileUtil;
+import org.openide.loaders.DataObject;
+import org.openide.nodes.Node;
+import org.openide.util.Lookup;
+import org.openide.util.lookup.Lookups;
+import org.openide.windows.TopComponent;
+
+/**
+ * Synthetic window-system and Swing fixtures for the benchmarks. Everything here runs
+ * headless and without a NetBeans platform.
+ */
+final class Synthetic {
+
+    private Synthetic() {
+    }
+
+    /** TopComponent.Registry whose contents are filled in by the benchmark. */
+    static final class Registry implements TopComponent.Registry {
+        final Set<TopComponent> opened = new LinkedHashSet<>();
+        TopComponent activated;
+
+        @Override public Set<TopComponent> getOpened() {
+            return Collections.unmodifiableSet(opened);
+        }
+        @Override public TopComponent getActivated() {
+            return activated;
+        }
+        @Override public Node[] getCurrentNodes() {
+            return new Node[0];
+        }
+        @Override public Node[] getActivatedNodes() {
+            return new Node[0];
+        }
+        @Override public void addPropertyChangeListener(PropertyChangeListener l) {
+        }
+        @Override public void removePropertyChangeListener(PropertyChangeListener l) {
+        }
+    }
+
+    /** Looks like an editor to ActiveEditorTracker: "Editor" class name, EditorCookie and DataObject in lookup. */
+    static final class FakeEditorTopComponent extends TopComponent {
+        private final Lookup lookup;
+        boolean showing;
+
+        FakeEditorTopComponent(DataObject dob) {
+            this.lookup = Lookups.fixed(EDITOR_COOKIE, dob);
+        }
+
+        @Override public Lookup getLookup() {
+            return lookup;
+        }
+
+        @Override public boolean isShowing() {
+            return showing;
+        }
+    }
+
+    /** A non-editor window, e.g. an output or navigator tab. */
+    static final class FakeToolTopComponent extends TopComponent {
+        @Override public Lookup getLookup() {
+            return Lookup.EMPTY;
+        }
+    }
+
+    /** Stand-in for Projects/Files/Favorites: an ExplorerManager.Provider holding a BeanTreeView. */
+    static final class FakeExplorerTopComponent extends TopComponent implements ExplorerManager.Provider {
+        private final ExplorerManager manager = new ExplorerManager();
+        final BeanTreeView view = new BeanTreeView();
+
+        FakeExplorerTopComponent(ViewKind kind) {
+            setLayout(new BorderLayout());
+            add(view, BorderLayout.CENTER);
+            ViewKind.assign(this, kind); // no window system to ask for the TopComponent ID
+        }
+
+        @Override public ExplorerManager getExplorerManager() {
+            return manager;
+        }
+    }
+
+    // only its presence in a lookup matters
+    private static final EditorCookie EDITOR_COOKIE = (EditorCookie) Proxy.newProxyInstance(
+            Synthetic.class.getClassLoader(), new Class<?>[] {EditorCookie.class}, (proxy, m, args) -> null);
+
+    /** {@code count} editors over files of an in-memory filesystem, in registry order. */
+    static FakeEditorTopComponent[] editors(int count) throws IOException {
+        FileSystem fs = FileUtil.createMemoryFileSystem();
+        FakeEditorTopComponent[] tcs = new FakeEditorTopComponent[count];
+        for (int i = 0; i < count; i++) {
+            FileObject fo = FileUtil.createData(fs.getRoot(), "src/pkg" + (i % 10) + "/File" + i + ".java");
+            tcs[i] = new FakeEditorTopComponent(DataObject.find(fo));
+        }
+        return tcs;
+    }
+
+    /** Tree model with {@code nodes} nodes and the given fan-out, filled breadth first. */
+    static DefaultTreeModel treeModel(int nodes, int fanOut) {
+        DefaultMutableTreeNode root = new DefaultMutableTreeNode("root");
+        ArrayDeque<DefaultMutableTreeNode> parents = new ArrayDeque<>();
+        parents.add(root);
+        int created = 1;
+        while (created < nodes) {
+            DefaultMutableTreeNode parent = parents.poll();
+            for (int i = 0; i < fanOut && created < nodes; i++, created++) {
+                DefaultMutableTreeNode child = new DefaultMutableTreeNode("n" + created);
+                parent.add(child);
+                parents.add(child);
+            }
+        }
+        return new DefaultTreeModel(root);
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.util.concurrent.TimeUnit;
+import org.openide.windows.TopComponent;
+import org.openide.windows.WindowManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code isSupportedView} family: classification of an activated TopComponent,
+ * cached (one client-property read) against a fresh {@code findTopComponentID} per call,
+ * across 10, 100 and 1000 open windows activated round-robin.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ViewKindBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int windows;
+
+    private TopComponent[] tcs;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        tcs = new TopComponent[windows];
+        for (int i = 0; i < windows; i++) {
+            tcs[i] = new Synthetic.FakeToolTopComponent();
+            tcs[i].setName("window" + i);
+            ViewKind.of(tcs[i]); // classify once, as the first activation would
+        }
+    }
+
+    private TopComponent nextWindow() {
+        TopComponent tc = tcs[next];
+        next = (next + 1) % tcs.length;
+        return tc;
+    }
+
+    @Benchmark
+    public ViewKind cached() {
+        return ViewKind.of(nextWindow());
+    }
+
+    /** What each of the former helpers did on every call. */
+    @Benchmark
+    public ViewKind uncached() {
+        return ViewKind.forId(WindowManager.getDefault().findTopComponentID(nextWindow()));
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.swing.Action;
+import org.openide.awt.Actions;
+import org.openide.modules.ModuleInfo;
+import org.openide.util.ContextAwareAction;
+import org.openide.util.Lookup;
+import org.openide.util.LookupListener;
+import org.openide.util.lookup.Lookups;
+
+/**
+ * Cached access to the built-in actions the plugin delegates to.
+ * <p>
+ * {@code Actions.forID} is a layer-filesystem lookup; here it runs once per action and
+ * the result (including "not installed") is kept until the {@code Actions/} folders of
+ * the categories in use or the set of modules change. Editor toolbars, rebuilt for every
+ * new editor tab, and header clicks are then map reads. Context-aware instances for
+ * fixed contexts, such as a view's collapse action, are cached the same way.
+ */
+final class ActionResolver {
+
+    static final String SELECT_DOCUMENT_NODE = "Window/SelectDocumentNode";
+    static final String PROJECT = "Project";
+
+    static final String SELECT_IN_PROJECTS = "org.netbeans.modules.project.ui.SelectInProjects"; // Ctrl+Shift+1
+    static final String SELECT_IN_FILES = "org.netbeans.modules.project.ui.SelectInFiles"; // Ctrl+Shift+2
+    static final String SELECT_IN_FAVORITES = "org.netbeans.modules.favorites.Select"; // Ctrl+Shift+3
+    static final String COLLAPSE_ALL_NODES = "org.netbeans.modules.project.ui.collapseAllNodes";
+
+    private record Key(String category, String id) {
+    }
+
+    private record ContextKey(Key action, Object context) {
+    }
+
+    // Marks a lookup that found nothing, so a missing module is not looked up again
+    private static final Action MISSING = new javax.swing.AbstractAction() {
+        @Override
+        public void actionPerformed(java.awt.event.ActionEvent e) {
+        }
+    };
+
+    private static final Map<Key, Action> ACTIONS = new ConcurrentHashMap<>();
+    private static final Map<ContextKey, Action> CONTEXT_ACTIONS = new ConcurrentHashMap<>();
+    // Results are only live while referenced; listened to for as long as the module runs
+    private static final Map<String, Lookup.Result<?>> WATCHED = new ConcurrentHashMap<>();
+    private static final LookupListener INVALIDATE = ev -> invalidate();
+
+    private ActionResolver() {
+    }
+
+    /** The action registered as {@code Actions/<category>/<id>}, or {@code null}. */
+    static Action find(String category, String id) {
+        Action a = ACTIONS.get(new Key(category, id));
+        if (a == null) {
+            watch(category);
+            a = ACTIONS.computeIfAbsent(new Key(category, id), k -> {
+                Action found = Actions.forID(k.category(), k.id());
+                return found != null ? found : MISSING;
+            });
+        }
+        return a != MISSING ? a : null;
+    }
+
+    /**
+     * Context-aware instance of the action for a context that does not change, cached under
+     * {@code contextKey}; the action itself when it is not context aware, {@code null} if missing.
+     */
+    static Action contextAware(String category, String id, Object contextKey, Lookup context) {
+        Action template = find(category, id);
+        if (!(template instanceof ContextAwareAction caa)) {
+            return template;
+        }
+        return CONTEXT_ACTIONS.computeIfAbsent(new ContextKey(new Key(category, id), contextKey),
+                k -> caa.createContextAwareInstance(context));
+    }
+
+    /** Fresh context-aware instance for a one-off context (e.g. the file being revealed). */
+    static Action forContext(String category, String id, Lookup context) {
+        Action template = find(category, id);
+        if (template instanceof ContextAwareAction caa) {
+            return caa.createContextAwareInstance(context);
+        }
+        return null;
+    }
+
+    /** Drops every cached action; the next lookup goes to the layer again. */
+    static void invalidate() {
+        ACTIONS.clear();
+        CONTEXT_ACTIONS.clear();
+    }
+
+    /** Stops listening and drops the cache (module uninstall). */
+    static void dispose() {
+        for (Lookup.Result<?> r : WATCHED.values()) {
+            r.removeLookupListener(INVALIDATE);
+        }
+        WATCHED.clear();
+        invalidate();
+    }
+
+    private static void watch(String category) {
+        if (WATCHED.isEmpty()) {
+            listen("modules", Lookup.getDefault().lookupResult(ModuleInfo.class));
+        }
+        if (!WATCHED.containsKey(category)) {
+            listen(category, Lookups.forPath("Actions/" + category).lookupResult(Action.class));
+        }
+    }
+
+    private static void listen(String name, Lookup.Result<?> result) {
+        if (WATCHED.putIfAbsent(name, result) == null) {
+            result.addLookupListener(INVALIDATE);
+            result.allItems(); // starts change tracking without instantiating the actions
+        }
+    }
+}
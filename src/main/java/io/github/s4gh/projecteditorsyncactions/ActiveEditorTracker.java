@@ -0,0 +1,209 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.openide.cookies.EditorCookie;
+import org.openide.filesystems.FileObject;
+import org.openide.loaders.DataObject;
+import org.openide.windows.TopComponent;
+import org.openide.windows.WindowManager;
+
+/**
+ * Most-recently-activated index of editor TopComponents.
+ * <p>
+ * Fed from the window registry events that {@link Installer} already listens to,
+ * so answering "which editor is active" does not need a scan of every opened
+ * TopComponent. Entries are held weakly; a closed or collected editor simply
+ * drops out of the index.
+ */
+final class ActiveEditorTracker {
+
+    /** Enough history for "recent editors" consumers; the head is the active editor. */
+    static final int CAPACITY = 16;
+
+    // Class-name check from isEditorWindow, computed once per TopComponent class
+    private static final ClassValue<Boolean> EDITOR_CLASS = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            String className = type.getName().toLowerCase();
+            return className.contains("editor") || className.contains("multiview");
+        }
+    };
+
+    // MRU order: slot 0 is the most recently activated editor
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final WeakReference<TopComponent>[] recent = new WeakReference[CAPACITY];
+    private int size;
+
+    private final Supplier<TopComponent.Registry> registry;
+    private final Predicate<TopComponent> isOpened;
+
+    ActiveEditorTracker() {
+        this(() -> WindowManager.getDefault().getRegistry(), TopComponent::isOpened);
+    }
+
+    /** For harnesses running without a window system: registry and "still open" check are supplied. */
+    ActiveEditorTracker(Supplier<TopComponent.Registry> registry, Predicate<TopComponent> isOpened) {
+        this.registry = registry;
+        this.isOpened = isOpened;
+    }
+
+    /**
+     * A TopComponent was activated; moves it to the head when it is an editor.
+     *
+     * @return whether {@code tc} is an editor window
+     */
+    synchronized boolean activated(TopComponent tc) {
+        if (tc == null || !isEditorWindow(tc)) {
+            return false;
+        }
+        int idx = indexOf(tc);
+        if (idx == 0) {
+            return true; // already the head, nothing to move
+        }
+        WeakReference<TopComponent> ref;
+        if (idx > 0) {
+            ref = recent[idx];
+            System.arraycopy(recent, 0, recent, 1, idx);
+        } else {
+            ref = new WeakReference<>(tc);
+            int shift = Math.min(size, CAPACITY - 1);
+            System.arraycopy(recent, 0, recent, 1, shift);
+            if (size < CAPACITY) size++;
+        }
+        recent[0] = ref;
+        return true;
+    }
+
+    /** A TopComponent was opened; remembered behind the head so activation order wins. */
+    synchronized void opened(TopComponent tc) {
+        if (tc == null || size == CAPACITY || indexOf(tc) >= 0 || !isEditorWindow(tc)) {
+            return;
+        }
+        recent[size++] = new WeakReference<>(tc);
+    }
+
+    /** A TopComponent was closed; the next most recent editor becomes the head. */
+    synchronized void closed(TopComponent tc) {
+        int idx = indexOf(tc);
+        if (idx >= 0) {
+            removeAt(idx);
+        }
+    }
+
+    synchronized void clear() {
+        for (int i = 0; i < size; i++) {
+            recent[i] = null;
+        }
+        size = 0;
+    }
+
+    /** Most recently activated editor that is still open, or {@code null} when the index is empty. */
+    synchronized TopComponent activeEditor() {
+        while (size > 0) {
+            TopComponent tc = recent[0].get();
+            if (tc != null && isOpened.test(tc)) {
+                return tc;
+            }
+            removeAt(0); // collected or closed without a registry event
+        }
+        return null;
+    }
+
+    /**
+     * Fills {@code out} with the still-open editors in MRU order and returns how many were written.
+     */
+    synchronized int recentEditors(TopComponent[] out) {
+        int n = 0;
+        for (int i = 0; i < size && n < out.length; i++) {
+            TopComponent tc = recent[i].get();
+            if (tc != null && isOpened.test(tc)) {
+                out[n++] = tc;
+            }
+        }
+        return n;
+    }
+
+    /** Active editor file: O(1) index hit, or a registry scan only while the index is empty. */
+    FileObject activeEditorFile() {
+        TopComponent tc = activeEditor();
+        if (tc != null) {
+            FileObject fo = fileOf(tc);
+            if (fo != null) {
+                return fo;
+            }
+        }
+        return scanRegistry();
+    }
+
+    /**
+     * Primary files of every open editor, without duplicates (split or cloned editors), the
+     * recently activated ones first. Scans the registry; EDT only.
+     */
+    List<FileObject> openEditorFiles() {
+        Set<FileObject> files = new LinkedHashSet<>();
+        TopComponent[] mru = new TopComponent[CAPACITY];
+        int n = recentEditors(mru);
+        for (int i = 0; i < n; i++) {
+            FileObject fo = fileOf(mru[i]);
+            if (fo != null) {
+                files.add(fo);
+            }
+        }
+        for (TopComponent tc : registry.get().getOpened()) {
+            if (isEditorWindow(tc)) {
+                FileObject fo = fileOf(tc);
+                if (fo != null) {
+                    files.add(fo);
+                }
+            }
+        }
+        return new ArrayList<>(files);
+    }
+
+    static boolean isEditorWindow(TopComponent tc) {
+        // Check if this is an editor window by looking for EditorCookie
+        EditorCookie ec = tc.getLookup().lookup(EditorCookie.class);
+        // Editor windows typically have "EditorTopComponent" (or multiview) in their class name
+        return ec != null && EDITOR_CLASS.get(tc.getClass());
+    }
+
+    static FileObject fileOf(TopComponent tc) {
+        DataObject dataObj = tc.getLookup().lookup(DataObject.class);
+        return dataObj != null ? dataObj.getPrimaryFile() : null;
+    }
+
+    private FileObject scanRegistry() {
+        Set<TopComponent> opened = registry.get().getOpened();
+        for (TopComponent tc : opened) {
+            if (tc.isShowing() && isEditorWindow(tc)) {
+                FileObject fo = fileOf(tc);
+                if (fo != null) {
+                    // Seed the index so the next lookup is a hit
+                    activated(tc);
+                    return fo;
+                }
+            }
+        }
+        return null;
+    }
+
+    private int indexOf(TopComponent tc) {
+        for (int i = 0; i < size; i++) {
+            if (recent[i].get() == tc) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void removeAt(int idx) {
+        System.arraycopy(recent, idx + 1, recent, idx, size - idx - 1);
+        recent[--size] = null;
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.awt.event.ActionEvent;
+import java.beans.PropertyVetoException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.Action;
+import org.openide.explorer.ExplorerManager;
+import org.openide.filesystems.FileObject;
+import org.openide.nodes.Node;
+import org.openide.util.lookup.Lookups;
+import org.openide.windows.TopComponent;
+
+/**
+ * {@link ExplorerViewAdapter}s of the views this module started with. They are bound
+ * directly to the {@link ViewKind} constants rather than registered, so the built-in
+ * views do not depend on the lookup and cannot be claimed by another adapter.
+ */
+final class BuiltInViews {
+
+    private static final Logger LOG = Logger.getLogger(BuiltInViews.class.getName());
+
+    private BuiltInViews() {
+    }
+
+    /**
+     * Projects and Files: collapse through the project UI's Collapse All action; reveal by
+     * selecting the located node, falling back to the module's "Select in" action. That
+     * action always activates the view, so a reveal that must not activate has no fallback.
+     */
+    static final class Projects implements ExplorerViewAdapter {
+        private final String id;
+        private final String selectActionId;
+
+        Projects(String id, String selectActionId) {
+            this.id = id;
+            this.selectActionId = selectActionId;
+        }
+
+        @Override
+        public String topComponentId() {
+            return id;
+        }
+
+        @Override
+        public boolean collapseAll(TopComponent view) {
+            Action collapse = ActionResolver.contextAware(ActionResolver.PROJECT, ActionResolver.COLLAPSE_ALL_NODES,
+                    id, Lookups.fixed(id));
+            if (collapse == null) {
+                return false;
+            }
+            collapse.actionPerformed(new ActionEvent(view, ActionEvent.ACTION_PERFORMED, "collapseAll"));
+            return true;
+        }
+
+        @Override
+        public void reveal(TopComponent view, FileObject file, Node node, Node[] viewPath, boolean activate) {
+            if (viewPath != null && viewPath.length > 0 && view instanceof ExplorerManager.Provider provider) {
+                try {
+                    provider.getExplorerManager().setSelectedNodes(new Node[] {viewPath[viewPath.length - 1]});
+                    if (activate) {
+                        view.requestActive(); // like the built-in action
+                    }
+                    return;
+                } catch (PropertyVetoException ex) {
+                    LOG.log(Level.FINE, "Selection vetoed, using the built-in action", ex);
+                }
+            }
+            if (!activate) {
+                return;
+            }
+            Action select = ActionResolver.forContext(ActionResolver.SELECT_DOCUMENT_NODE, selectActionId,
+                    Lookups.fixed(file));
+            if (select != null) {
+                select.actionPerformed(new ActionEvent(view, ActionEvent.ACTION_PERFORMED, null));
+            }
+        }
+    }
+
+    /**
+     * Favorites: no collapse action of its own; reveal through its "Select in Favorites" node
+     * action, which activates the view. Without activation the located node is selected instead.
+     */
+    static final class Favorites implements ExplorerViewAdapter {
+
+        @Override
+        public String topComponentId() {
+            return "favorites";
+        }
+
+        @Override
+        public boolean revealsByNode() {
+            return true;
+        }
+
+        @Override
+        public void reveal(TopComponent view, FileObject file, Node node, Node[] viewPath, boolean activate) {
+            if (!activate) {
+                ExplorerViewAdapter.super.reveal(view, file, node, viewPath, false);
+                return;
+            }
+            if (node == null) {
+                return;
+            }
+            //provide a Node for a NodeAction
+            Action selectInFavorites = ActionResolver.forContext(ActionResolver.SELECT_DOCUMENT_NODE,
+                    ActionResolver.SELECT_IN_FAVORITES, Lookups.fixed(node));
+            // Only fire if the action says it’s enabled for this Node
+            if (selectInFavorites != null && selectInFavorites.isEnabled()) {
+                // make Favorites visible
+                view.requestVisible();
+                selectInFavorites.actionPerformed(
+                        new ActionEvent(view, ActionEvent.ACTION_PERFORMED, "selectInFavorites"));
+            }
+        }
+    }
+}
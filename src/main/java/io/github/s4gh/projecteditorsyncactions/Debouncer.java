@@ -0,0 +1,42 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Latest-wins trigger: any burst of {@link #trigger()} calls results in a single
+ * run of the action on the EDT once the burst has been quiet for the settle delay.
+ */
+final class Debouncer {
+
+    private final Timer timer;
+    // Only one pending hop to the EDT is needed per burst from background threads
+    private final AtomicBoolean restartQueued = new AtomicBoolean();
+
+    Debouncer(int settleMillis, Runnable action) {
+        timer = new Timer(settleMillis, e -> action.run());
+        timer.setRepeats(false);
+    }
+
+    /** (Re)arms the settle timer; safe to call from any thread. */
+    void trigger() {
+        if (SwingUtilities.isEventDispatchThread()) {
+            timer.restart();
+        } else if (restartQueued.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(() -> {
+                restartQueued.set(false);
+                timer.restart();
+            });
+        }
+    }
+
+    /** Drops a pending run, if any (EDT only). */
+    void cancel() {
+        timer.stop();
+    }
+
+    int getSettleMillis() {
+        return timer.getInitialDelay();
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+import java.util.prefs.Preferences;
+import javax.swing.SwingUtilities;
+import org.openide.explorer.view.BeanTreeView;
+import org.openide.filesystems.FileObject;
+import org.openide.util.NbPreferences;
+import org.openide.windows.TopComponent;
+
+/**
+ * "Follow editor" mode: explorer views registered here reveal the active editor
+ * file automatically.
+ * <p>
+ * Editor activations arrive in bursts (Ctrl+Tab cycling, session restore), so they
+ * only re-arm a {@link Debouncer}; the reveal itself runs once the burst settles and
+ * always targets the latest active file. A view is revealed at most once per settle
+ * window and never twice in a row for the same file; all views following are revealed
+ * by one request, and a view counts as having followed a file only once its reveal ran,
+ * so a superseded request is retried on the next settle. Follow reveals only select: they
+ * never activate the view, so focus stays in the editor the user is typing in. (EDT only.)
+ */
+final class EditorFollower {
+
+    static final int SETTLE_MS = 300;
+
+    // Client property on BeanTreeView: file most recently revealed by follow mode
+    private static final String CP_LAST_FOLLOWED = "s4gh.follow.lastFile";
+    private static final String PREF_FOLLOW = "followEditor.";
+
+    interface Reveal {
+        /** Reveals {@code fo} in {@code views}; {@code revealed} is called on the EDT for each view it reached. */
+        void reveal(List<TopComponent> views, FileObject fo, Consumer<TopComponent> revealed);
+    }
+
+    private final Reveal reveal;
+    private final Debouncer debouncer = new Debouncer(SETTLE_MS, this::settled);
+    private final Set<BeanTreeView> followers = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private long lastRevealAt;
+
+    EditorFollower(Reveal reveal) {
+        this.reveal = reveal;
+    }
+
+    static boolean isFollowPreferred(String viewId) {
+        return viewId != null && prefs().getBoolean(PREF_FOLLOW + viewId, false);
+    }
+
+    boolean isFollowing(BeanTreeView btv) {
+        return followers.contains(btv);
+    }
+
+    void setFollowing(BeanTreeView btv, String viewId, boolean on) {
+        assert SwingUtilities.isEventDispatchThread();
+        if (on) {
+            followers.add(btv);
+            btv.putClientProperty(CP_LAST_FOLLOWED, null);
+            debouncer.trigger(); // catch up with the current editor
+        } else {
+            followers.remove(btv);
+            btv.putClientProperty(CP_LAST_FOLLOWED, null);
+        }
+        if (viewId != null) {
+            prefs().putBoolean(PREF_FOLLOW + viewId, on);
+        }
+    }
+
+    /** Forgets a view without touching its persisted preference (view closed or uninstalled). */
+    void forget(BeanTreeView btv) {
+        followers.remove(btv);
+        btv.putClientProperty(CP_LAST_FOLLOWED, null);
+    }
+
+    /** An editor became active; coalesced into one reveal after the burst settles. */
+    void editorActivated() {
+        if (!followers.isEmpty()) {
+            debouncer.trigger();
+        }
+    }
+
+    void dispose() {
+        debouncer.cancel();
+        for (BeanTreeView btv : followers.toArray(new BeanTreeView[0])) {
+            forget(btv);
+        }
+    }
+
+    private void settled() {
+        if (followers.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastRevealAt < SETTLE_MS) {
+            debouncer.trigger(); // still inside the previous window; try again once it closes
+            return;
+        }
+        FileObject fo = Installer.getActiveEditorFile();
+        if (fo == null) {
+            return;
+        }
+        Map<TopComponent, BeanTreeView> batch = new LinkedHashMap<>();
+        for (BeanTreeView btv : followers.toArray(new BeanTreeView[0])) {
+            if (!btv.isShowing()) {
+                continue;
+            }
+            TopComponent owningTC = (TopComponent) SwingUtilities.getAncestorOfClass(TopComponent.class, btv);
+            if (owningTC == null || fo.equals(btv.getClientProperty(CP_LAST_FOLLOWED))) {
+                continue;
+            }
+            batch.put(owningTC, btv);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        lastRevealAt = now;
+        reveal.reveal(new ArrayList<>(batch.keySet()), fo, tc -> {
+            BeanTreeView btv = batch.get(tc);
+            if (btv != null && followers.contains(btv)) {
+                btv.putClientProperty(CP_LAST_FOLLOWED, fo);
+            }
+        });
+    }
+
+    private static Preferences prefs() {
+        return NbPreferences.forModule(Installer.class);
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.List;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
+import javax.swing.JTable;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.table.DefaultTableModel;
+import org.openide.DialogDescriptor;
+import org.openide.DialogDisplayer;
+import org.openide.awt.ActionID;
+import org.openide.awt.ActionReference;
+import org.openide.awt.ActionRegistration;
+import org.openide.util.NbBundle.Messages;
+
+/**
+ * Shows the {@link EdtWatchdog} histograms: p50/p99/max EDT queue wait and execution
+ * time per plugin action kind, and the stall threshold that triggers an EDT stack dump.
+ */
+@ActionID(
+    category = "Tools",
+    id = "io.github.s4gh.navigator.EdtLatencyAction"
+)
+@ActionRegistration(
+    displayName = "#CTL_EdtLatencyAction"
+)
+@ActionReference(
+    path = "Menu/Tools",
+    position = 1890
+)
+@Messages({
+    "CTL_EdtLatencyAction=Editor Project Sync Diagnostics",
+    "LBL_StallThreshold=Log EDT stack when an action runs longer than (ms):",
+    "BTN_Refresh=Refresh",
+    "BTN_Reset=Reset",
+    "BTN_Close=Close"
+})
+public final class EdtLatencyAction implements ActionListener {
+
+    private static final String[] COLUMNS = {
+        "Action", "Runs", "Queue p50 (µs)", "Queue p99 (µs)", "Queue max (µs)",
+        "Run p50 (µs)", "Run p99 (µs)", "Run max (µs)"
+    };
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        DefaultTableModel model = new DefaultTableModel(COLUMNS, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+
+            @Override
+            public Class<?> getColumnClass(int column) {
+                return column == 0 ? String.class : Long.class;
+            }
+        };
+        fill(model);
+        JTable table = new JTable(model);
+        table.setAutoCreateRowSorter(true);
+
+        JSpinner threshold = new JSpinner(new SpinnerNumberModel(EdtWatchdog.getStallMillis(), 1, 60_000, 50));
+        threshold.addChangeListener(ce -> EdtWatchdog.setStallMillis((Integer) threshold.getValue()));
+        JPanel settings = new JPanel(new FlowLayout(FlowLayout.LEADING));
+        settings.add(new JLabel(Bundle.LBL_StallThreshold()));
+        settings.add(threshold);
+
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.add(new JScrollPane(table), BorderLayout.CENTER);
+        panel.add(settings, BorderLayout.SOUTH);
+
+        JButton refresh = new JButton(Bundle.BTN_Refresh());
+        JButton reset = new JButton(Bundle.BTN_Reset());
+        JButton close = new JButton(Bundle.BTN_Close());
+        DialogDescriptor dd = new DialogDescriptor(panel, Bundle.CTL_EdtLatencyAction(), false,
+                new Object[] {refresh, reset, close}, close, DialogDescriptor.DEFAULT_ALIGN, null, ae -> {
+                    if (ae.getSource() == reset) {
+                        EdtWatchdog.reset();
+                        fill(model);
+                    } else if (ae.getSource() == refresh) {
+                        fill(model);
+                    }
+                });
+        dd.setClosingOptions(new Object[] {close});
+        DialogDisplayer.getDefault().createDialog(dd).setVisible(true);
+    }
+
+    private static void fill(DefaultTableModel model) {
+        model.setRowCount(0);
+        List<LatencySummary> rows = EdtWatchdog.summaries();
+        for (LatencySummary s : rows) {
+            model.addRow(new Object[] {
+                s.getKind(), s.getCount(),
+                s.getQueueP50(), s.getQueueP99(), s.getQueueMax(),
+                s.getExecP50(), s.getExecP99(), s.getExecMax()
+            });
+        }
+    }
+}
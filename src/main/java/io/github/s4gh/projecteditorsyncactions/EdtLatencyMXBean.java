@@ -0,0 +1,21 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.util.List;
+
+/**
+ * EDT latency of the plugin's actions, registered as
+ * {@code io.github.s4gh.projecteditorsyncactions:type=EdtLatency} while the module is enabled.
+ * All times are in microseconds.
+ */
+public interface EdtLatencyMXBean {
+
+    /** One row per action kind: p50/p99/max of EDT queue wait and of execution time. */
+    List<LatencySummary> getLatencies();
+
+    int getStallThresholdMillis();
+
+    /** Runs longer than this log a stack dump of the EDT; persisted in the module preferences. */
+    void setStallThresholdMillis(int millis);
+
+    void reset();
+}
@@ -0,0 +1,228 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+import javax.swing.SwingUtilities;
+import org.openide.util.NbPreferences;
+import org.openide.util.RequestProcessor;
+
+/**
+ * Measures every runnable the plugin puts on the EDT.
+ * <p>
+ * Per action kind, queue wait (from {@code invokeLater} to start) and execution time go
+ * into two {@link LatencyHistogram}s. When a plugin runnable is still running after the
+ * stall threshold ({@value #PREF_STALL_MILLIS} preference, default {@value #DEFAULT_STALL_MILLIS} ms),
+ * the EDT stack is logged once for that run. The numbers are exposed through
+ * {@link EdtLatencyMXBean} and the {@link EdtLatencyAction} dialog.
+ */
+final class EdtWatchdog {
+
+    private static final Logger LOG = Logger.getLogger(EdtWatchdog.class.getName());
+
+    static final String PREF_STALL_MILLIS = "edtStallMillis";
+    static final int DEFAULT_STALL_MILLIS = 200;
+
+    static final String OBJECT_NAME = "io.github.s4gh.projecteditorsyncactions:type=EdtLatency";
+
+    /** Queue wait and execution histograms of one action kind. */
+    record Stats(LatencyHistogram queueWait, LatencyHistogram execution) {
+    }
+
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+
+    private static final RequestProcessor RP = new RequestProcessor(EdtWatchdog.class.getName());
+    private static final RequestProcessor.Task STALL_CHECK = RP.create(EdtWatchdog::checkStall);
+    // JMX is started on the first sample, on the watchdog thread, rather than on the startup path
+    private static final RequestProcessor.Task REGISTER = RP.create(EdtWatchdog::registerMBean);
+    private static final AtomicBoolean MBEAN_REQUESTED = new AtomicBoolean();
+
+    /** The outermost plugin runnable on the EDT; nested runOnEDT calls only feed the histograms. */
+    private static final class Running {
+        final String kind;
+        final long started;
+        final Thread thread;
+        volatile boolean reported;
+
+        Running(String kind, long started, Thread thread) {
+            this.kind = kind;
+            this.started = started;
+            this.thread = thread;
+        }
+    }
+
+    private static volatile Running current;
+    private static volatile long stallNanos = stallMillisPreference() * 1_000_000L;
+
+    private EdtWatchdog() {
+    }
+
+    /** {@code SwingUtilities.invokeLater} with queue wait and execution recorded under {@code kind}. */
+    static void invokeLater(String kind, Runnable r) {
+        long enqueued = System.nanoTime();
+        SwingUtilities.invokeLater(() -> run(kind, enqueued, r));
+    }
+
+    /** {@code SwingUtilities.invokeAndWait} with queue wait and execution recorded under {@code kind} (not on the EDT). */
+    static void invokeAndWait(String kind, Runnable r) throws InterruptedException, InvocationTargetException {
+        long enqueued = System.nanoTime();
+        SwingUtilities.invokeAndWait(() -> run(kind, enqueued, r));
+    }
+
+    /** Runs {@code r} now (EDT only); no queue wait is recorded. */
+    static void runNow(String kind, Runnable r) {
+        run(kind, -1, r);
+    }
+
+    private static void run(String kind, long enqueued, Runnable r) {
+        Stats stats = STATS.computeIfAbsent(kind, k -> {
+            if (MBEAN_REQUESTED.compareAndSet(false, true)) {
+                REGISTER.schedule(0);
+            }
+            return new Stats(new LatencyHistogram(), new LatencyHistogram());
+        });
+        long start = System.nanoTime();
+        if (enqueued >= 0) {
+            stats.queueWait().record(start - enqueued);
+        }
+        boolean outermost = current == null;
+        if (outermost) {
+            current = new Running(kind, start, Thread.currentThread());
+            STALL_CHECK.schedule((int) (stallNanos / 1_000_000L));
+        }
+        try {
+            r.run();
+        } finally {
+            if (outermost) {
+                current = null;
+            }
+            stats.execution().record(System.nanoTime() - start);
+        }
+    }
+
+    private static void checkStall() {
+        Running running = current;
+        if (running == null || running.reported) {
+            return;
+        }
+        long elapsed = System.nanoTime() - running.started;
+        if (elapsed < stallNanos) {
+            STALL_CHECK.schedule((int) ((stallNanos - elapsed) / 1_000_000L) + 1);
+            return;
+        }
+        running.reported = true;
+        StringBuilder dump = new StringBuilder();
+        for (StackTraceElement frame : running.thread.getStackTrace()) {
+            dump.append("\n\tat ").append(frame);
+        }
+        LOG.log(Level.WARNING, "EDT busy for {0} ms in plugin action \"{1}\"; {2} stack:{3}",
+                new Object[] {elapsed / 1_000_000L, running.kind, running.thread.getName(), dump});
+    }
+
+    static int getStallMillis() {
+        return (int) (stallNanos / 1_000_000L);
+    }
+
+    static void setStallMillis(int millis) {
+        int value = Math.max(1, millis);
+        stallNanos = value * 1_000_000L;
+        NbPreferences.forModule(EdtWatchdog.class).putInt(PREF_STALL_MILLIS, value);
+    }
+
+    private static int stallMillisPreference() {
+        return Math.max(1, NbPreferences.forModule(EdtWatchdog.class).getInt(PREF_STALL_MILLIS, DEFAULT_STALL_MILLIS));
+    }
+
+    /** Snapshot of every action kind seen so far, sorted by kind. */
+    static List<LatencySummary> summaries() {
+        Map<String, Stats> sorted = new TreeMap<>(STATS);
+        List<LatencySummary> out = new ArrayList<>(sorted.size());
+        for (Map.Entry<String, Stats> e : sorted.entrySet()) {
+            LatencyHistogram q = e.getValue().queueWait();
+            LatencyHistogram x = e.getValue().execution();
+            out.add(new LatencySummary(e.getKey(), x.count(),
+                    micros(q.percentile(0.5)), micros(q.percentile(0.99)), micros(q.max()),
+                    micros(x.percentile(0.5)), micros(x.percentile(0.99)), micros(x.max())));
+        }
+        return out;
+    }
+
+    static void reset() {
+        for (Stats s : STATS.values()) {
+            s.queueWait().reset();
+            s.execution().reset();
+        }
+    }
+
+    private static long micros(long nanos) {
+        return nanos / 1_000L;
+    }
+
+    // ---------------------------- JMX ----------------------------
+
+    private static void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MXBeanImpl(), name);
+            }
+        } catch (MalformedObjectNameException | InstanceAlreadyExistsException
+                | MBeanRegistrationException | NotCompliantMBeanException ex) {
+            LOG.log(Level.FINE, "Could not register " + OBJECT_NAME, ex);
+        }
+    }
+
+    /** Removes the bean, or the pending registration (module uninstall). */
+    static void unregisterMBean() {
+        REGISTER.cancel();
+        REGISTER.waitFinished();
+        MBEAN_REQUESTED.set(false);
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (MalformedObjectNameException | InstanceNotFoundException | MBeanRegistrationException ex) {
+            LOG.log(Level.FINE, "Could not unregister " + OBJECT_NAME, ex);
+        }
+    }
+
+    private static final class MXBeanImpl implements EdtLatencyMXBean {
+
+        @Override
+        public List<LatencySummary> getLatencies() {
+            return summaries();
+        }
+
+        @Override
+        public int getStallThresholdMillis() {
+            return getStallMillis();
+        }
+
+        @Override
+        public void setStallThresholdMillis(int millis) {
+            setStallMillis(millis);
+        }
+
+        @Override
+        public void reset() {
+            EdtWatchdog.reset();
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.JTree;
+import javax.swing.SwingUtilities;
+import javax.swing.tree.TreePath;
+import org.netbeans.api.project.ui.OpenProjects;
+import org.netbeans.api.project.ui.ProjectGroup;
+import org.openide.explorer.view.TreeView;
+import org.openide.explorer.view.Visualizer;
+import org.openide.modules.Places;
+import org.openide.nodes.Node;
+import org.openide.util.RequestProcessor;
+
+/**
+ * Saves and restores which nodes of an explorer view are expanded.
+ * <p>
+ * A snapshot is the list of expanded paths, each a sequence of node names below the
+ * view root. On disk it is a small binary file per view and project group under the
+ * user directory: a table of distinct names (so the segments shared by many paths are
+ * stored once) followed by each path as varint indices into that table.
+ * <p>
+ * Restore is incremental and shallow paths first: a background thread resolves names to
+ * nodes a batch at a time (computing children as needed) and the EDT expands each batch,
+ * so the nodes the user can see open first and deeper levels stream in behind them.
+ */
+final class ExpansionSnapshots {
+
+    private static final Logger LOG = Logger.getLogger(ExpansionSnapshots.class.getName());
+
+    private static final int MAGIC = 0x53344558; // "S4EX"
+    private static final int VERSION = 1;
+    private static final int MAX_PATHS = 4096;
+    private static final int MAX_DEPTH = 256;
+    // every name belongs to some saved path
+    private static final int MAX_NAMES = MAX_PATHS * MAX_DEPTH;
+    private static final int BATCH = 32;
+    private static final String DIR = "var/s4gh/expansion";
+
+    private static final RequestProcessor RP = new RequestProcessor(ExpansionSnapshots.class.getName(), 1, true);
+
+    // Latest restore per view; a newer restore, save or collapse supersedes it (guarded by itself)
+    private final Map<ViewKind, Integer> generations = new HashMap<>();
+
+    /** Writes the expansion state of {@code tree} for the view and the active project group (EDT). */
+    void save(ViewKind kind, JTree tree) {
+        save(kind, tree, activeGroupName());
+    }
+
+    /**
+     * Same as {@link #save(ViewKind, JTree)} under an explicit group, e.g. the one being switched away from.
+     * A tree with nothing expanded keeps the previous snapshot: a second Collapse All must not
+     * overwrite the state the first one saved for Restore.
+     */
+    void save(ViewKind kind, JTree tree, String groupName) {
+        assert SwingUtilities.isEventDispatchThread();
+        cancel(kind);
+        List<String[]> paths = capture(tree);
+        if (paths.isEmpty()) {
+            return;
+        }
+        File file = file(kind, groupName);
+        RP.post(() -> write(file, paths));
+    }
+
+    /** Writes synchronously, for shutdown (EDT); unlike {@link #save} also an empty state, which the session ended with. */
+    void saveNow(ViewKind kind, JTree tree) {
+        assert SwingUtilities.isEventDispatchThread();
+        write(file(kind, activeGroupName()), capture(tree));
+    }
+
+    /** Re-expands the saved paths of the view for the active project group, if any (EDT). */
+    void restore(ViewKind kind, TreeView view, Node root) {
+        assert SwingUtilities.isEventDispatchThread();
+        int gen = cancel(kind);
+        File file = file(kind, activeGroupName());
+        RP.post(() -> {
+            List<String[]> paths = read(file);
+            if (paths.isEmpty()) {
+                return;
+            }
+            paths.sort(Comparator.comparingInt(p -> p.length)); // visible levels first
+            Map<String, Node> resolved = new HashMap<>();
+            List<Node> batch = new ArrayList<>(BATCH);
+            for (String[] path : paths) {
+                if (Thread.currentThread().isInterrupted() || !current(kind, gen)) {
+                    return;
+                }
+                Node n = resolve(root, path, resolved);
+                if (n != null) {
+                    batch.add(n);
+                }
+                if (batch.size() == BATCH) {
+                    expand(kind, gen, view, batch);
+                    batch = new ArrayList<>(BATCH);
+                }
+            }
+            expand(kind, gen, view, batch);
+        });
+    }
+
+    /** Stops a running restore of the view, e.g. before Collapse All (EDT); returns the new generation. */
+    int cancel(ViewKind kind) {
+        int gen;
+        synchronized (generations) {
+            gen = generations.merge(kind, 1, Integer::sum);
+        }
+        return gen;
+    }
+
+    private boolean current(ViewKind kind, int gen) {
+        synchronized (generations) {
+            return generations.getOrDefault(kind, 0) == gen;
+        }
+    }
+
+    private void expand(ViewKind kind, int gen, TreeView view, List<Node> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // waiting keeps the background thread at most one batch ahead of the EDT
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+                if (current(kind, gen)) {
+                    for (Node n : batch) {
+                        view.expandNode(n);
+                    }
+                }
+            });
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (java.lang.reflect.InvocationTargetException ex) {
+            LOG.log(Level.FINE, "Expanding restored nodes failed", ex.getCause());
+        }
+    }
+
+    /** Node for the name path, reusing parents resolved for earlier (shallower) paths. */
+    private static Node resolve(Node root, String[] path, Map<String, Node> resolved) {
+        Node parent = root;
+        StringBuilder key = new StringBuilder();
+        for (String name : path) {
+            key.append('/').append(name);
+            String k = key.toString();
+            Node n = resolved.get(k);
+            if (n == null) {
+                n = childNamed(parent, name);
+                if (n == null) {
+                    return null; // renamed, deleted or project no longer open
+                }
+                resolved.put(k, n);
+            }
+            parent = n;
+        }
+        return parent;
+    }
+
+    private static Node childNamed(Node parent, String name) {
+        for (Node child : parent.getChildren().getNodes(true)) {
+            if (name.equals(child.getName())) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    /** Expanded paths of the tree as node names below its root (EDT). */
+    static List<String[]> capture(JTree tree) {
+        List<String[]> out = new ArrayList<>();
+        Object root = tree.getModel() != null ? tree.getModel().getRoot() : null;
+        if (root == null) {
+            return out;
+        }
+        Enumeration<TreePath> expanded = tree.getExpandedDescendants(new TreePath(root));
+        while (expanded != null && expanded.hasMoreElements() && out.size() < MAX_PATHS) {
+            TreePath p = expanded.nextElement();
+            int depth = p.getPathCount() - 1;
+            if (depth == 0 || depth > MAX_DEPTH) {
+                continue; // the root itself, or deeper than a snapshot may be
+            }
+            String[] names = new String[depth];
+            for (int i = 0; i < depth; i++) {
+                Node n = Visualizer.findNode(p.getPathComponent(i + 1));
+                names[i] = n != null ? n.getName() : null;
+            }
+            if (!java.util.Arrays.asList(names).contains(null)) {
+                out.add(names);
+            }
+        }
+        return out;
+    }
+
+    // ---------------------------- storage ----------------------------
+
+    static String activeGroupName() {
+        ProjectGroup group = OpenProjects.getDefault().getActiveProjectGroup();
+        return group != null ? group.getName() : null;
+    }
+
+    private static File file(ViewKind kind, String groupName) {
+        String group = groupName != null ? sanitize(groupName) + "-" + Integer.toHexString(groupName.hashCode()) : "default";
+        return new File(new File(Places.getUserDirectory(), DIR), sanitize(kind.id) + "." + group + ".bin");
+    }
+
+    private static String sanitize(String s) {
+        return s.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static void write(File file, List<String[]> paths) {
+        try {
+            Path target = file.toPath();
+            Files.createDirectories(target.getParent());
+            Path tmp = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+            try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(tmp));
+                    DataOutputStream out = new DataOutputStream(os)) {
+                encode(paths, out);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            LOG.log(Level.INFO, "Could not save expansion state to " + file, ex);
+        }
+    }
+
+    private static List<String[]> read(File file) {
+        if (!file.isFile()) {
+            return new ArrayList<>();
+        }
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(file.toPath()));
+                DataInputStream in = new DataInputStream(is)) {
+            return decode(in);
+        } catch (IOException ex) {
+            LOG.log(Level.INFO, "Ignoring unreadable expansion state " + file, ex);
+            return new ArrayList<>();
+        }
+    }
+
+    static void encode(List<String[]> paths, DataOutput out) throws IOException {
+        Map<String, Integer> index = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        for (String[] path : paths) {
+            for (String name : path) {
+                index.computeIfAbsent(name, n -> {
+                    names.add(n);
+                    return names.size() - 1;
+                });
+            }
+        }
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        writeVarInt(out, names.size());
+        for (String name : names) {
+            out.writeUTF(name);
+        }
+        writeVarInt(out, paths.size());
+        for (String[] path : paths) {
+            writeVarInt(out, path.length);
+            for (String name : path) {
+                writeVarInt(out, index.get(name));
+            }
+        }
+    }
+
+    static List<String[]> decode(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+            throw new IOException("Not an expansion snapshot");
+        }
+        // counts come from the file: bound them before allocating anything they size
+        int nameCount = readCount(in, 0, MAX_NAMES, "name count");
+        List<String> names = new ArrayList<>(Math.min(nameCount, MAX_PATHS));
+        for (int i = 0; i < nameCount; i++) {
+            names.add(in.readUTF().intern());
+        }
+        int count = readCount(in, 0, MAX_PATHS, "path count");
+        List<String[]> paths = new ArrayList<>(count);
+        for (int p = 0; p < count; p++) {
+            String[] path = new String[readCount(in, 1, MAX_DEPTH, "path length")];
+            for (int i = 0; i < path.length; i++) {
+                path[i] = names.get(readCount(in, 0, names.size() - 1, "name index"));
+            }
+            paths.add(path);
+        }
+        return paths;
+    }
+
+    static void writeVarInt(DataOutput out, int v) throws IOException {
+        while ((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+
+    /** A varint in {@code min..max}; anything else means a corrupt file. */
+    private static int readCount(DataInput in, int min, int max, String what) throws IOException {
+        int v = readVarInt(in);
+        if (v < min || v > max) {
+            throw new IOException("Bad " + what + " " + v);
+        }
+        return v;
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int v = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return v;
+            }
+        }
+        throw new EOFException("Malformed varint");
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.beans.PropertyVetoException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.openide.explorer.ExplorerManager;
+import org.openide.filesystems.FileObject;
+import org.openide.nodes.Node;
+import org.openide.windows.TopComponent;
+
+/**
+ * Gives another explorer view (Services, a versioning view, a company explorer, ...) the
+ * header buttons of Projects, Files and Favorites.
+ * <p>
+ * Register an implementation with {@code @ServiceProvider(service = ExplorerViewAdapter.class)}.
+ * The view is recognised by its TopComponent ID: the registered adapters are read into a
+ * table keyed by ID once, and again only when the set of adapters changes, so a window no
+ * adapter claims is rejected with a single hash lookup. The view must contain a
+ * {@code BeanTreeView}. Projects, Files and Favorites are built in and cannot be replaced.
+ * All methods are called on the EDT.
+ */
+public interface ExplorerViewAdapter {
+
+    /** ID of the view's TopComponent, as returned by {@code WindowManager.findTopComponentID}. */
+    String topComponentId();
+
+    /**
+     * Collapses the whole view by the view's own means, e.g. an action of its module.
+     *
+     * @return {@code false} to have the plugin collapse the view's tree directly (the default)
+     */
+    default boolean collapseAll(TopComponent view) {
+        return false;
+    }
+
+    /**
+     * Whether {@link #reveal} works from the file's Node, looked up in the background. By
+     * default it gets the path of the file's node below the root of the view's
+     * {@code ExplorerManager} instead, located by file containment.
+     */
+    default boolean revealsByNode() {
+        return false;
+    }
+
+    /**
+     * Selects {@code file} in the view. The default selects the last node of {@code viewPath}
+     * through the view's {@code ExplorerManager} and activates the view if asked to.
+     * <p>
+     * Follow mode reveals with {@code activate == false} while the user keeps working in the
+     * editor: such a reveal must only select, never activate or focus the view.
+     *
+     * @param node     the file's Node if {@link #revealsByNode()}, otherwise {@code null}
+     * @param viewPath nodes from (excluding) the view root down to the file; {@code null} when
+     *                 the view does not show the file, or when {@link #revealsByNode()} and
+     *                 {@code activate}
+     * @param activate whether to activate the view, as an explicit Sync does
+     */
+    default void reveal(TopComponent view, FileObject file, Node node, Node[] viewPath, boolean activate) {
+        if (viewPath == null || viewPath.length == 0 || !(view instanceof ExplorerManager.Provider provider)) {
+            return;
+        }
+        try {
+            provider.getExplorerManager().setSelectedNodes(new Node[] {viewPath[viewPath.length - 1]});
+            if (activate) {
+                view.requestActive();
+            }
+        } catch (PropertyVetoException ex) {
+            Logger.getLogger(ExplorerViewAdapter.class.getName()).log(Level.FINE, "Selection vetoed", ex);
+        }
+    }
+}
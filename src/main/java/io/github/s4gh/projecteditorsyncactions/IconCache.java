@@ -0,0 +1,126 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.swing.Icon;
+import org.openide.util.ImageUtilities;
+
+/**
+ * Module-wide icon cache for the header buttons.
+ * <p>
+ * Every (path, size) is loaded once and shared by all views. Painting goes through a
+ * raster of the icon at the device scale of the target graphics, rounded to a quarter
+ * and keyed by (path, size, scale), so moving a view between monitors or re-docking it
+ * reuses rasters instead of re-rendering the SVG, and odd transforms cannot grow the
+ * cache past a few dozen rasters per icon; {@link #prewarm} rasterises the scales of the
+ * attached screens up front. A missing icon resolves to one shared placeholder per size.
+ */
+final class IconCache {
+
+    private record Key(String path, int size) {
+    }
+
+    private record RasterKey(String path, int size, double scale) {
+    }
+
+    private static final Map<Key, CachedIcon> ICONS = new ConcurrentHashMap<>();
+    private static final Map<RasterKey, BufferedImage> RASTERS = new ConcurrentHashMap<>();
+    private static final Map<Integer, Icon> PLACEHOLDERS = new ConcurrentHashMap<>();
+
+    private IconCache() {
+    }
+
+    /** Shared icon for {@code path} at {@code size} logical pixels. */
+    static Icon get(String path, int size) {
+        return ICONS.computeIfAbsent(new Key(path, size), k -> new CachedIcon(k, load(k.path(), k.size())));
+    }
+
+    /** Rasterises {@code path} for the scale factor of every attached screen; any thread. */
+    static void prewarm(String path, int size) {
+        CachedIcon icon = (CachedIcon) get(path, size);
+        if (GraphicsEnvironment.isHeadless()) {
+            return;
+        }
+        for (GraphicsDevice gd : GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices()) {
+            AffineTransform tx = gd.getDefaultConfiguration().getDefaultTransform();
+            icon.raster(tx.getScaleX());
+        }
+    }
+
+    /** Drops every cached icon and raster (module uninstall). */
+    static void clear() {
+        ICONS.clear();
+        RASTERS.clear();
+        PLACEHOLDERS.clear();
+    }
+
+    private static Icon load(String path, int size) {
+        Icon ic = ImageUtilities.loadImageIcon(path, true);
+        return ic != null ? ic : PLACEHOLDERS.computeIfAbsent(size, IconCache::placeholder);
+    }
+
+    private static Icon placeholder(int size) {
+        int s = Math.max(12, size);
+        BufferedImage bi = new BufferedImage(s, s, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = bi.createGraphics();
+        g2.setColor(new java.awt.Color(0, 0, 0, 140)); g2.drawRect(1, 1, s - 3, s - 3);
+        g2.dispose();
+        return ImageUtilities.image2Icon(bi);
+    }
+
+    /** Paints the pre-rasterised variant for the device scale of the target graphics. */
+    private static final class CachedIcon implements Icon {
+        private final Key key;
+        private final Icon source;
+
+        CachedIcon(Key key, Icon source) {
+            this.key = key;
+            this.source = source;
+        }
+
+        @Override
+        public void paintIcon(Component c, Graphics g, int x, int y) {
+            double scale = g instanceof Graphics2D g2 ? g2.getTransform().getScaleX() : 1;
+            if (scale <= 0 || scale > 8) {
+                source.paintIcon(c, g, x, y); // mirrored or unusual transform: no raster
+                return;
+            }
+            g.drawImage(raster(scale), x, y, getIconWidth(), getIconHeight(), null);
+        }
+
+        /** The raster for {@code scale} rounded to a quarter, at least 0.25. */
+        BufferedImage raster(double scale) {
+            double quantized = Math.max(1, Math.round(scale * 4)) / 4.0;
+            return RASTERS.computeIfAbsent(new RasterKey(key.path(), key.size(), quantized), k -> {
+                int w = Math.max(1, (int) Math.ceil(getIconWidth() * k.scale()));
+                int h = Math.max(1, (int) Math.ceil(getIconHeight() * k.scale()));
+                BufferedImage bi = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+                Graphics2D g2 = bi.createGraphics();
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g2.scale(k.scale(), k.scale());
+                source.paintIcon(null, g2, 0, 0);
+                g2.dispose();
+                return bi;
+            });
+        }
+
+        @Override
+        public int getIconWidth() {
+            return source.getIconWidth();
+        }
+
+        @Override
+        public int getIconHeight() {
+            return source.getIconHeight();
+        }
+    }
+}
@@ -1,139 +1,312 @@
 package io.github.s4gh.projecteditorsyncactions;
 
-import org.openide.cookies.EditorCookie;
 import java.awt.Component;
-import java.awt.Container;
 import java.awt.Cursor;
-import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
 import java.awt.event.ContainerAdapter;
 import java.awt.event.ContainerEvent;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.AbstractButton;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.Icon;
-import javax.swing.ImageIcon;
 import javax.swing.JButton;
-import javax.swing.JComponent;
+import javax.swing.JMenuItem;
 import javax.swing.JPanel;
+import javax.swing.JPopupMenu;
+import javax.swing.JToggleButton;
 import javax.swing.JTree;
 import javax.swing.JViewport;
 import javax.swing.SwingUtilities;
-import org.openide.awt.Actions;
-import org.openide.util.ContextAwareAction;
+import javax.swing.Timer;
+import javax.swing.event.TreeSelectionEvent;
+import javax.swing.event.TreeSelectionListener;
+import javax.swing.tree.TreePath;
 import org.openide.filesystems.FileObject;
-import org.openide.util.Lookup;
-import javax.swing.Action;
+import org.openide.util.RequestProcessor;
 import java.awt.event.ActionEvent;
 import org.netbeans.api.project.ui.OpenProjects;
+import org.netbeans.api.project.ui.ProjectGroup;
+import org.netbeans.api.project.ui.ProjectGroupChangeEvent;
+import org.netbeans.api.project.ui.ProjectGroupChangeListener;
+import org.openide.explorer.ExplorerManager;
 import org.openide.explorer.view.BeanTreeView;
-import org.openide.loaders.DataObject;
+import org.openide.explorer.view.Visualizer;
 import org.openide.modules.ModuleInstall;
 import org.openide.nodes.Node;
-import org.openide.util.ImageUtilities;
 import org.openide.util.WeakListeners;
-import org.openide.util.lookup.Lookups;
 import org.openide.windows.TopComponent;
 import org.openide.windows.WindowManager;
 
 public final class Installer extends ModuleInstall {
-    // TopComponent IDs for the Projects tab variants
-    private static final String ID_PROJECTS_LOGICAL = "projectTabLogical_tc"; // Projects (Logical)
-    private static final String ID_PROJECTS_PHYSICAL = "projectTab_tc";       // Files (Physical)
-    // NEW: TopComponent ID for the Favorites tab
-    private static final String ID_FAVORITES = "favorites";                   // Favorites
+    private static final Logger LOG = Logger.getLogger(Installer.class.getName());
 
     // Client properties on BeanTreeView
     private static final String CP_OVERLAYS_INSTALLED = "s4gh.overlays.installed";
     private static final String CP_ORIGINAL_HEADER_VIEW = "s4gh.overlays.originalHeaderView";
+    // Built header, kept across close/reopen of the same BeanTreeView
+    private static final String CP_HEADER = "s4gh.overlays.header";
     // Client property on TopComponent (temporary listener for lazy content)
     private static final String CP_TC_CONTAINER_LIS = "s4gh.overlays.tcContainerListener";
 
+    // Most recently activated editors, fed by registry events (see onRegistryChange)
+    private static final ActiveEditorTracker EDITORS = new ActiveEditorTracker();
+
+    // Owning open project of a file, rebuilt after OpenProjects changes
+    private static final ProjectOwners OWNERS = new ProjectOwners();
+
+    // Shared by the “Sync All Views” action, separate from the per-view header syncs
+    private static final SyncPipeline ALL_VIEWS = new SyncPipeline(OWNERS);
+
+    // Recently synced or activated files, for the navigation history popup
+    private static final NavigationHistory HISTORY = new NavigationHistory();
+    // Explorer view activated last, where the history popup reveals (EDT only)
+    private static WeakReference<TopComponent> lastView = new WeakReference<>(null);
+
+    private final SyncPipeline pipeline = new SyncPipeline(OWNERS);
+    // Follow mode's own, so a follow tick never supersedes a Sync click still resolving
+    private final SyncPipeline followPipeline = new SyncPipeline(OWNERS);
+    private final EditorFollower follower = new EditorFollower(this::followReveal);
+    private final PathWarmer warmer = new PathWarmer(EDITORS, OWNERS);
+    private final LazyInstaller lazy = new LazyInstaller(this::ensureButtonsInstalled, Installer::hasHeader);
+    private final ExpansionSnapshots expansions = new ExpansionSnapshots();
+    private final OpenFilesFilter openFiles = new OpenFilesFilter(Installer::openFilesClosed);
+
+    // Coalesces OpenProjects change storms (see restored)
+    private static final int PROJECTS_SETTLE_MS = 250;
+    private final Debouncer projectsSettled = new Debouncer(PROJECTS_SETTLE_MS,
+            () -> EdtWatchdog.runNow("projectsChanged", this::onProjectsSettled));
+    // Set at startup and when a project group switch completes; the views are restored once the projects
+    // being opened settle, so the snapshot written at the last shutdown comes back with them
+    private volatile boolean restoreAfterSettle = true;
+
+    private static final int ICON_SIZE = 16;
+    private static final String ICON_COLLAPSE = "icons/collapseTree.svg";
+    private static final String ICON_SYNC = "icons/syncWithCodeEditor.svg";
+    private static final String ICON_FOLLOW = "icons/followEditor.svg";
+    private static final String ICON_COLLAPSE_EXCEPT = "icons/collapseExceptActive.svg";
+    private static final String ICON_EXPANSION = "icons/expansionState.svg";
+    private static final String ICON_OPEN_FILES = "icons/openFilesOnly.svg";
+
+    /**
+     * Header panel of one BeanTreeView, its follow toggle and (Projects/Files only, else
+     * {@code null}) its open-files-only toggle, reused when the view is reopened.
+     */
+    private record Header(JPanel panel, JToggleButton follow, JToggleButton openFilesOnly) {
+    }
+
+    // Listeners are held strongly: the registrations only keep weak wrappers, which are
+    // kept as well so uninstalled() can remove them rather than wait for them to expire
     private PropertyChangeListener registryListener;
+    private PropertyChangeListener registryWeakListener;
+    private PropertyChangeListener projectsListener;
+    private PropertyChangeListener projectsWeakListener;
+    private ProjectGroupChangeListener groupListener;
+    private volatile long restoredNanos;
+
+    // Every view we installed on or armed, including closed ones that may be reopened (EDT only)
+    private final Set<TopComponent> touched = Collections.newSetFromMap(new WeakHashMap<>());
 
     // ---------------------------- lifecycle ----------------------------
 
     @Override
     public void restored() {
+        long restoredStart = System.nanoTime();
         // Ensure we start on EDT after winsys is up
         WindowManager.getDefault().invokeWhenUIReady(() -> {
+            long uiReadyStart = System.nanoTime();
             TopComponent.Registry reg = TopComponent.getRegistry();
             registryListener = this::onRegistryChange;
-            reg.addPropertyChangeListener(WeakListeners.propertyChange(registryListener, reg));
+            registryWeakListener = WeakListeners.propertyChange(registryListener, reg);
+            reg.addPropertyChangeListener(registryWeakListener);
+            EDITORS.activated(reg.getActivated());
 
-            // If supported windows are already open (restored session), install now (EDT)
+            // If supported windows are already open (restored session), install when they are
+            // first shown or in idle slices, rather than on the startup path (EDT)
             Set<TopComponent> opened = reg.getOpened();
             if (opened != null) {
                 for (TopComponent tc : opened) {
                     if (isSupportedView(tc)) {
-                        ensureButtonsInstalled(tc); // already on EDT
+                        viewOpened(tc); // already on EDT
                     }
                 }
             }
 
-            // First-run: when the first project opens, attempt install on EDT (Projects / Files)
-            PropertyChangeListener projectsPCL = evt -> {
+            // First-run: when the first project opens, attempt install on EDT (Projects / Files).
+            // Opening a large workspace or switching groups fires a burst of changes; they only
+            // re-arm the debouncer, so the burst costs a single install pass once it settles.
+            projectsListener = evt -> {
                 if (OpenProjects.PROPERTY_OPEN_PROJECTS.equals(evt.getPropertyName())) {
-                    runOnEDT(() -> {
-                        TopComponent logical = WindowManager.getDefault().findTopComponent(ID_PROJECTS_LOGICAL);
-                        TopComponent physical = WindowManager.getDefault().findTopComponent(ID_PROJECTS_PHYSICAL);
-                        if (logical != null) ensureButtonsInstalled(logical);
-                        if (physical != null) ensureButtonsInstalled(physical);
-                        // Also try Favorites once projects change (harmless if closed)
-                        TopComponent favorites = WindowManager.getDefault().findTopComponent(ID_FAVORITES);
-                        if (favorites != null) ensureButtonsInstalled(favorites);
-                    });
+                    OWNERS.invalidate();
+                    projectsSettled.trigger();
                 }
             };
-            OpenProjects.getDefault().addPropertyChangeListener(
-                    WeakListeners.propertyChange(projectsPCL, OpenProjects.getDefault()));
+            projectsWeakListener = WeakListeners.propertyChange(projectsListener, OpenProjects.getDefault());
+            OpenProjects.getDefault().addPropertyChangeListener(projectsWeakListener);
+
+            // Project group switch: keep the outgoing group's expansion, bring back the incoming one's
+            groupListener = new ProjectGroupChangeListener() {
+                @Override
+                public void projectGroupChanging(ProjectGroupChangeEvent e) {
+                    ProjectGroup old = e.getOldGroup();
+                    String oldName = old != null ? old.getName() : null;
+                    Runnable save = () -> {
+                        saveExpansion(ViewKind.LOGICAL, oldName);
+                        saveExpansion(ViewKind.PHYSICAL, oldName);
+                    };
+                    // Fired off the EDT, before the switch: the trees must be read before it proceeds
+                    if (SwingUtilities.isEventDispatchThread()) {
+                        EdtWatchdog.runNow("saveExpansion", save);
+                        return;
+                    }
+                    try {
+                        EdtWatchdog.invokeAndWait("saveExpansion", save);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } catch (InvocationTargetException ex) {
+                        LOG.log(Level.INFO, "Could not save expansion state", ex.getCause());
+                    }
+                }
+
+                @Override
+                public void projectGroupChanged(ProjectGroupChangeEvent e) {
+                    restoreAfterSettle = true;
+                    projectsSettled.trigger();
+                }
+            };
+            OpenProjects.getDefault().addProjectGroupChangeListener(groupListener);
 
             // Try Favorites right away too (e.g., if it’s open at startup)
-            TopComponent favorites = WindowManager.getDefault().findTopComponent(ID_FAVORITES);
-            if (favorites != null) ensureButtonsInstalled(favorites);
+            TopComponent favorites = ViewKind.FAVORITES.find();
+            if (favorites != null) viewOpened(favorites);
+
+            lazy.startupMeasured(restoredNanos, System.nanoTime() - uiReadyStart);
         });
+        RequestProcessor.getDefault().post(HISTORY::load);
+        // Rasterise the header icons off the EDT, before the first header paints them
+        RequestProcessor.getDefault().post(() -> {
+            for (String path : new String[] {ICON_COLLAPSE, ICON_SYNC, ICON_FOLLOW, ICON_COLLAPSE_EXCEPT,
+                    ICON_EXPANSION, ICON_OPEN_FILES}) {
+                IconCache.prewarm(path, ICON_SIZE);
+            }
+        });
+        restoredNanos = System.nanoTime() - restoredStart;
     }
 
     @Override
     public void uninstalled() {
-        TopComponent.Registry reg = TopComponent.getRegistry();
-        if (registryListener != null) {
-            reg.removePropertyChangeListener(registryListener);
-            registryListener = null;
+        if (registryWeakListener != null) {
+            TopComponent.getRegistry().removePropertyChangeListener(registryWeakListener);
+            registryWeakListener = null;
+        }
+        if (projectsWeakListener != null) {
+            OpenProjects.getDefault().removePropertyChangeListener(projectsWeakListener);
+            projectsWeakListener = null;
+        }
+        if (groupListener != null) {
+            OpenProjects.getDefault().removeProjectGroupChangeListener(groupListener);
+            groupListener = null;
+        }
+        registryListener = null;
+        projectsListener = null;
+        // Synchronously: after uninstalled() returns nothing may still point into this module
+        if (SwingUtilities.isEventDispatchThread()) {
+            tearDown();
+        } else {
+            try {
+                SwingUtilities.invokeAndWait(this::tearDown);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (InvocationTargetException ex) {
+                LOG.log(Level.WARNING, "Teardown failed", ex.getCause());
+            }
         }
+        pipeline.cancel();
+        followPipeline.cancel();
+        ALL_VIEWS.cancel();
+        HISTORY.save();
+        EDITORS.clear();
+        IconCache.clear();
+        PresenterHub.dispose();
+        ViewKind.dispose();
+        ActionResolver.dispose();
+        EdtWatchdog.unregisterMBean();
     }
 
-    public static FileObject getActiveEditorFile() {
-        // Get all opened windows
-        Set<TopComponent> opened = WindowManager.getDefault().getRegistry().getOpened();
-        // Find the editor window
-        for (TopComponent tc : opened) {
-            // Check if this component is an editor window and is focused
-            if (tc.isShowing() && isEditorWindow(tc)) {
-                // Get the DataObject from the editor
-                DataObject dataObj = tc.getLookup().lookup(DataObject.class);
-                if (dataObj != null) {
-                    return dataObj.getPrimaryFile();
+    @Override
+    public void close() {
+        HISTORY.save();
+        // IDE shutdown: the expansion of the Projects and Files views outlives the session
+        Runnable save = () -> {
+            for (ViewKind kind : new ViewKind[] {ViewKind.LOGICAL, ViewKind.PHYSICAL}) {
+                TopComponent tc = kind.find();
+                JTree tree = tc != null ? TreeHandles.tree(tc) : null;
+                if (tree != null) {
+                    expansions.saveNow(kind, tree);
                 }
             }
+        };
+        if (SwingUtilities.isEventDispatchThread()) {
+            save.run();
+        } else {
+            try {
+                SwingUtilities.invokeAndWait(save);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (InvocationTargetException ex) {
+                LOG.log(Level.INFO, "Could not save expansion state", ex.getCause());
+            }
         }
-        return null;
     }
 
-    private static boolean isEditorWindow(TopComponent tc) {
-        // Check if this is an editor window by looking for EditorCookie
-        EditorCookie ec = tc.getLookup().lookup(EditorCookie.class);
-        if (ec != null) {
-            // Additional check - verify the component's class name
-            // Editor windows typically have "EditorTopComponent" in their class name
-            String className = tc.getClass().getName().toLowerCase();
-            return className.contains("editor")
-                    || className.contains("multiview");
+    /**
+     * Restores every header and drops every listener and client property this module put on
+     * views (EDT only). Closed views are included: they keep their header for reuse on reopen.
+     */
+    void tearDown() {
+        assert SwingUtilities.isEventDispatchThread();
+        projectsSettled.cancel();
+        lazy.dispose();
+        follower.dispose();
+        warmer.dispose();
+        openFiles.dispose();
+        for (ViewKind kind : ViewKind.values()) {
+            expansions.cancel(kind);
+        }
+        Set<TopComponent> all = new HashSet<>(touched);
+        all.addAll(TopComponent.getRegistry().getOpened());
+        for (TopComponent tc : all) {
+            if (isSupportedView(tc)) {
+                BeanTreeView btv = TreeHandles.beanTreeView(tc);
+                removeButtons(tc);
+                if (btv != null) {
+                    btv.putClientProperty(CP_HEADER, null);
+                }
+            }
+            TreeHandles.invalidate(tc);
+            ViewKind.forget(tc);
         }
-        return false;
+        touched.clear();
+    }
+
+    static NavigationHistory history() {
+        return HISTORY;
+    }
+
+    public static FileObject getActiveEditorFile() {
+        return EDITORS.activeEditorFile();
     }
 
     // ---------------------- window registry events ----------------------
@@ -142,54 +315,119 @@ public final class Installer extends ModuleInstall {
         String prop = evt.getPropertyName();
         if (TopComponent.Registry.PROP_TC_OPENED.equals(prop)) {
             TopComponent tc = (TopComponent) evt.getNewValue();
+            EDITORS.opened(tc);
+            openFiles.opened(tc);
             if (isSupportedView(tc)) {
-                runOnEDT(() -> ensureButtonsInstalled(tc));
+                runOnEDT("ensureButtons", () -> viewOpened(tc));
             }
         } else if (TopComponent.Registry.PROP_TC_CLOSED.equals(prop)) {
             TopComponent tc = (TopComponent) evt.getNewValue();
+            EDITORS.closed(tc);
+            openFiles.closed(tc);
             if (isSupportedView(tc)) {
-                runOnEDT(() -> removeButtons(tc));
+                runOnEDT("removeButtons", () -> viewClosed(tc));
             }
         } else if (TopComponent.Registry.PROP_ACTIVATED.equals(prop)) {
             TopComponent tc = TopComponent.getRegistry().getActivated();
-            if (tc != null && isSupportedView(tc)) {
-                runOnEDT(() -> ensureButtonsInstalled(tc));
+            if (tc == null) {
+                return;
+            }
+            if (ViewKind.of(tc).isSupported()) {
+                lastView = new WeakReference<>(tc);
+                runOnEDT("ensureButtons", () -> ensureButtonsInstalled(tc));
+            } else if (EDITORS.activated(tc)) {
+                HISTORY.visited(ActiveEditorTracker.fileOf(tc));
+                follower.editorActivated();
+                warmer.editorActivated();
             }
         }
     }
 
     // ------------------- “which view” helpers (EDT-only) -------------------
 
-    private boolean isSupportedView(TopComponent tc) {
-        String id = WindowManager.getDefault().findTopComponentID(tc);
-        return ID_PROJECTS_LOGICAL.equals(id)
-                || ID_PROJECTS_PHYSICAL.equals(id)
-                || ID_FAVORITES.equals(id);
+    /** Cached per TopComponent, so activations of unrelated windows cost one client-property read. */
+    private static boolean isSupportedView(TopComponent tc) {
+        return ViewKind.of(tc).isSupported();
     }
 
-    private boolean isProjectsView(TopComponent tc) {
-        String id = WindowManager.getDefault().findTopComponentID(tc);
-        return ID_PROJECTS_LOGICAL.equals(id) || ID_PROJECTS_PHYSICAL.equals(id);
+    // --------- installation & cleanup (EDT-only) ---------
+
+    /** A supported view was opened: header on first show/mouse or in an idle slice (EDT). */
+    void viewOpened(TopComponent tc) {
+        touched.add(tc);
+        lazy.request(tc);
     }
 
-    private boolean isProjectsLogicalView(TopComponent tc) {
-        String id = WindowManager.getDefault().findTopComponentID(tc);
-        return ID_PROJECTS_LOGICAL.equals(id);
+    /** A supported view was closed: header restored, triggers and warm-up root dropped (EDT). */
+    void viewClosed(TopComponent tc) {
+        lazy.forget(tc);
+        removeButtons(tc);
+        warmer.viewClosed(ViewKind.of(tc));
     }
 
-    private boolean isFavoritesView(TopComponent tc) {
-        String id = WindowManager.getDefault().findTopComponentID(tc);
-        return ID_FAVORITES.equals(id);
+    /** Open projects settled: install headers and, at startup or after a group switch, restore expansion (EDT). */
+    private void onProjectsSettled() {
+        installOnProjectViews();
+        if (restoreAfterSettle) {
+            restoreAfterSettle = false;
+            restoreExpansion(ViewKind.LOGICAL);
+            restoreExpansion(ViewKind.PHYSICAL);
+        }
     }
 
-    // --------- installation & cleanup (EDT-only) ---------
+    /** Saves the expansion of an open view under the given project group (EDT). */
+    private void saveExpansion(ViewKind kind, String groupName) {
+        TopComponent tc = kind.find();
+        JTree tree = tc != null ? TreeHandles.tree(tc) : null;
+        if (tree != null) {
+            expansions.save(kind, tree, groupName);
+        }
+    }
 
-    private void ensureButtonsInstalled(TopComponent targetTC) {
+    /** Re-expands the saved nodes of an open view for the active project group (EDT). */
+    private void restoreExpansion(ViewKind kind) {
+        TopComponent tc = kind.find();
+        if (tc != null) {
+            restoreExpansion(tc, kind);
+        }
+    }
+
+    private void restoreExpansion(TopComponent tc, ViewKind kind) {
+        BeanTreeView btv = TreeHandles.beanTreeView(tc);
+        JTree tree = TreeHandles.tree(tc);
+        if (btv == null || tree == null || tree.getModel().getRoot() == null) {
+            return;
+        }
+        Node root = locateRoot(tc, kind);
+        expansions.restore(kind, btv, root != null ? root : Visualizer.findNode(tree.getModel().getRoot()));
+    }
+
+    /** One install request for Projects, Files and Favorites, for whichever of them are open (EDT). */
+    private void installOnProjectViews() {
+        TopComponent logical = ViewKind.LOGICAL.find();
+        TopComponent physical = ViewKind.PHYSICAL.find();
+        if (logical != null) viewOpened(logical);
+        if (physical != null) viewOpened(physical);
+        // Also try Favorites once projects change (harmless if closed)
+        TopComponent favorites = ViewKind.FAVORITES.find();
+        if (favorites != null) viewOpened(favorites);
+    }
+
+    private static boolean hasHeader(TopComponent tc) {
+        BeanTreeView btv = TreeHandles.beanTreeView(tc);
+        return btv != null && Boolean.TRUE.equals(btv.getClientProperty(CP_OVERLAYS_INSTALLED));
+    }
+
+    void ensureButtonsInstalled(TopComponent targetTC) {
         assert SwingUtilities.isEventDispatchThread();
+        touched.add(targetTC);
+        JfrEvents.EnsureButtons event = new JfrEvents.EnsureButtons();
+        event.begin();
         // If we already have a BeanTreeView, install header now
-        BeanTreeView btv = findChild(targetTC, BeanTreeView.class);
+        BeanTreeView btv = TreeHandles.beanTreeView(targetTC);
         if (btv != null) {
-            installHeaderIfNeeded(btv, targetTC);
+            boolean installed = installHeaderIfNeeded(btv, targetTC);
+            commitEnsureEvent(event, targetTC, installed ? "installed" : "present");
             return;
         }
         // Otherwise, attach a temporary ContainerListener to detect when BTV appears
@@ -197,7 +435,7 @@ public final class Installer extends ModuleInstall {
             ContainerAdapter ca = new ContainerAdapter() {
                 @Override public void componentAdded(ContainerEvent e) {
                     // This callback is on EDT
-                    BeanTreeView found = findChild(targetTC, BeanTreeView.class);
+                    BeanTreeView found = TreeHandles.beanTreeView(targetTC);
                     if (found != null) {
                         installHeaderIfNeeded(found, targetTC);
                         // Remove this listener once installed
@@ -210,162 +448,248 @@ public final class Installer extends ModuleInstall {
             targetTC.addContainerListener(ca);
             targetTC.putClientProperty(CP_TC_CONTAINER_LIS, ca);
         }
+        commitEnsureEvent(event, targetTC, "deferred");
+    }
+
+    private static void commitEnsureEvent(JfrEvents.EnsureButtons event, TopComponent tc, String outcome) {
+        if (event.shouldCommit()) {
+            event.view = ViewKind.of(tc).name();
+            event.outcome = outcome;
+            event.onEdt = SwingUtilities.isEventDispatchThread();
+            event.commit();
+        }
     }
 
-    private void installHeaderIfNeeded(BeanTreeView btv, TopComponent owningTC) {
+    /** @return whether the header was installed now (false if it already was) */
+    private boolean installHeaderIfNeeded(BeanTreeView btv, TopComponent owningTC) {
         assert SwingUtilities.isEventDispatchThread();
         if (Boolean.TRUE.equals(btv.getClientProperty(CP_OVERLAYS_INSTALLED))) {
-            return; // already installed for this BTV instance
-        }
-
-        // Create transparent icon-only buttons
-        Icon collapseTreeIcon = safeLoadIcon("icons/collapseTree.svg", 16);
-        Icon syncWithCodeEditorIcon = safeLoadIcon("icons/syncWithCodeEditor.svg", 16);
-
-        // Collapse action:
-        // Use the Projects/Files module action when available; for Favorites fall back to direct JTree collapse.
-        Action collapseAction = null;
-        if (isProjectsView(owningTC)) {
-            collapseAction = Actions.forID(
-                    "Project",
-                    "org.netbeans.modules.project.ui.collapseAllNodes"
-            );
-            if (collapseAction instanceof ContextAwareAction) {
-                collapseAction = ((ContextAwareAction) collapseAction)
-                        .createContextAwareInstance(
-                                Lookups.fixed(WindowManager.getDefault().findTopComponentID(owningTC))
-                        );
-            }
+            return false; // already installed for this BTV instance
         }
-        final Action collapseActionToExec = collapseAction;
+        JfrEvents.HeaderInstall installEvent = new JfrEvents.HeaderInstall();
+        installEvent.begin();
+        ViewKind kind = ViewKind.of(owningTC);
+
+        Header header = (Header) btv.getClientProperty(CP_HEADER);
+        if (header == null) {
+            header = buildHeader(btv, owningTC, kind);
+            btv.putClientProperty(CP_HEADER, header);
+        }
+        // Follow state may have changed while the view was closed
+        boolean follow = EditorFollower.isFollowPreferred(kind.id);
+        header.follow().setSelected(follow);
+        if (follow) {
+            follower.setFollowing(btv, kind.id, true);
+        }
+        if (header.openFilesOnly() != null) {
+            header.openFilesOnly().setSelected(openFiles.isShown(kind));
+        }
+
+        // Save previous header (if any) and install ours
+        JViewport headerVP = btv.getColumnHeader();
+        Component previousHeader = (headerVP != null) ? headerVP.getView() : null;
+        btv.putClientProperty(CP_ORIGINAL_HEADER_VIEW, previousHeader);
+        btv.setColumnHeaderView(header.panel());
+        btv.putClientProperty(CP_OVERLAYS_INSTALLED, Boolean.TRUE);
+        warmer.viewInstalled(kind, owningTC);
+
+        if (installEvent.shouldCommit()) {
+            installEvent.view = kind.name();
+            installEvent.onEdt = SwingUtilities.isEventDispatchThread();
+            installEvent.commit();
+        }
+        return true;
+    }
+
+    private Header buildHeader(BeanTreeView btv, TopComponent owningTC, ViewKind kind) {
+        // Create transparent icon-only buttons; icons are shared by all views
+        Icon collapseTreeIcon = IconCache.get(ICON_COLLAPSE, ICON_SIZE);
+        Icon syncWithCodeEditorIcon = IconCache.get(ICON_SYNC, ICON_SIZE);
+        Icon followEditorIcon = IconCache.get(ICON_FOLLOW, ICON_SIZE);
+        Icon collapseExceptActiveIcon = IconCache.get(ICON_COLLAPSE_EXCEPT, ICON_SIZE);
+        Icon expansionIcon = IconCache.get(ICON_EXPANSION, ICON_SIZE);
+        Icon openFilesIcon = IconCache.get(ICON_OPEN_FILES, ICON_SIZE);
 
         Runnable collapseTreeAction = () -> {
-            runOnEDT(() -> {
-                JTree tree = resolveTreeFrom(btv);
+            runOnEDT("collapse", () -> {
+                JTree tree = TreeHandles.tree(owningTC);
                 if (tree != null) {
                     tree.requestFocus();
+                    expansions.save(kind, tree); // so Restore Expanded Nodes can undo it
                 }
+                JfrEvents.Collapse collapseEvent = new JfrEvents.Collapse();
+                collapseEvent.begin();
+                int rowsBefore = tree != null ? tree.getRowCount() : 0;
                 
-                if (collapseActionToExec != null) {
-                    collapseActionToExec.actionPerformed(
-                            new ActionEvent(
-                                    this,
-                                    ActionEvent.ACTION_PERFORMED,
-                                    "collapseAll"
-                            )
-                    );
+                // The view's own action when its adapter has one (Projects/Files); otherwise collapse the JTree
+                if (kind.adapter().collapseAll(owningTC)) {
+                    collapseEvent.strategy = "action";
                 } else {
-                    // Fallback: collapse all rows in the underlying tree (e.g., Favorites)
+                    // Fallback: bulk-collapse the underlying tree (e.g., Favorites)
                     if (tree != null) {
-                        // collapse from bottom to top; rowCount shrinks as we collapse
-                        for (int row = tree.getRowCount() - 1; row >= 0; row--) {
-                            tree.collapseRow(row);
-                        }
+                        TreeCollapser.Result r = TreeCollapser.collapseAll(tree);
+                        LOG.log(Level.FINE, "Collapsed {0} nodes in {1} ms ({2})",
+                                new Object[] {r.collapsed(), r.millis(), kind});
+                        collapseEvent.collapsed = r.collapsed();
                     }
+                    collapseEvent.strategy = "bulk";
+                }
+                if (collapseEvent.shouldCommit()) {
+                    collapseEvent.view = kind.name();
+                    collapseEvent.rows = tree != null ? rowsBefore - tree.getRowCount() : 0;
+                    collapseEvent.onEdt = SwingUtilities.isEventDispatchThread();
+                    collapseEvent.commit();
                 }
             });
         };
 
         // Select-in action (“Sync with Code Editor”)
         Runnable selectInTreeAction = () -> {
-            runOnEDT(() -> {
-                JTree tree = resolveTreeFrom(btv);
+            runOnEDT("sync", () -> {
+                JTree tree = TreeHandles.tree(owningTC);
                 if (tree != null) {
                     tree.requestFocus();
                 }
-                ContextAwareAction template;
-                
-                FileObject fo = getActiveEditorFile();
-                if (fo == null) {
-                    return;
+                FileObject active = EDITORS.activeEditorFile();
+                if (TreeHandles.showsRevealed(owningTC, active)) {
+                    HISTORY.visited(active);
+                    pipeline.cancel(); // an older sync still resolving would move the selection
+                    return; // already selected and in view: skip the background stages too
                 }
-                
-                if (isProjectsLogicalView(owningTC)) {
-                    template = (ContextAwareAction) Actions.forID(
-                            "Window/SelectDocumentNode",
-                            "org.netbeans.modules.project.ui.SelectInProjects"
-                    );
-                    
-                    if (template == null) {
-                        return;
-                    }
-
-                    Lookup ctx = Lookups.fixed(fo);
-                    Action selectAction = template.createContextAwareInstance(ctx);
-                    selectAction.actionPerformed(
-                            new ActionEvent(this, ActionEvent.ACTION_PERFORMED, null)
-                    );
-                } else if (isProjectsView(owningTC)) {
-                    template = (ContextAwareAction) Actions.forID(
-                            "Window/SelectDocumentNode",
-                            "org.netbeans.modules.project.ui.SelectInFiles"
-                    );
-                    
-                    if (template == null) {
-                        return;
-                    }
-
-                    Lookup ctx = Lookups.fixed(fo);
-                    Action selectAction = template.createContextAwareInstance(ctx);
-                    selectAction.actionPerformed(
-                            new ActionEvent(this, ActionEvent.ACTION_PERFORMED, null)
-                    );
-                } else if (isFavoritesView(owningTC)) {
-                    
-                    DataObject dob;
-                    try {
-                        dob = DataObject.find(fo);
-                    } catch (org.openide.loaders.DataObjectNotFoundException ex) {
-                        return;
-                    }
+                pipeline.submit(active, kind.revealsByNode(),
+                        kind, locateRoot(owningTC, kind), resolved -> {
+                            HISTORY.visited(resolved.file());
+                            revealTimed(owningTC, kind, resolved, "button", true);
+                        });
+            });
+        };
 
-                    //provide a Node for a NodeAction
-                    Node node = dob.getNodeDelegate();
-                    if (node == null) {
-                        return;
+        // Shift+Sync: reveal every open editor file as one multi-selection
+        Runnable selectAllOpenAction = () -> {
+            runOnEDT("syncAll", () -> {
+                JTree tree = TreeHandles.tree(owningTC);
+                if (tree == null || tree.getModel().getRoot() == null) {
+                    return;
+                }
+                tree.requestFocus();
+                Node root = locateRoot(owningTC, kind);
+                Node viewRoot = root != null ? root : Visualizer.findNode(tree.getModel().getRoot());
+                List<FileObject> files = EDITORS.openEditorFiles();
+                pipeline.submitAll(files, kind, viewRoot, paths -> {
+                    long start = System.nanoTime();
+                    List<TreePath> targets = new ArrayList<>(paths.size());
+                    for (Node[] path : paths) {
+                        TreePath tp = NodeLocator.toTreePath(tree, path);
+                        if (tp != null) {
+                            targets.add(tp);
+                        }
                     }
+                    int expanded = TreeCollapser.revealAll(tree, targets);
+                    LOG.log(Level.FINE, "Revealed {0} of {1} open files ({2} expansions) in {3} ms ({4})",
+                            new Object[] {targets.size(), files.size(), expanded,
+                                (System.nanoTime() - start) / 1_000_000L, kind});
+                });
+            });
+        };
 
-                    template = (ContextAwareAction) Actions.forID(
-                            "Window/SelectDocumentNode",
-                            "org.netbeans.modules.favorites.Select"
-                    );
-                    if (template == null) {
-                        return;
+        // Collapse everything except the path to the active editor file, as one tree update
+        Runnable collapseExceptActiveAction = () -> {
+            runOnEDT("collapseExcept", () -> {
+                JTree tree = TreeHandles.tree(owningTC);
+                if (tree == null || tree.getModel().getRoot() == null) {
+                    return;
+                }
+                FileObject active = EDITORS.activeEditorFile();
+                if (active == null) {
+                    collapseTreeAction.run(); // no editor to keep in view: plain Collapse All
+                    return;
+                }
+                tree.requestFocus();
+                expansions.save(kind, tree);
+                // locate the target first (background), then collapse + expand in a single batch
+                Node viewRoot = Visualizer.findNode(tree.getModel().getRoot());
+                pipeline.submit(active, kind.revealsByNode(), kind, viewRoot, resolved -> {
+                    JfrEvents.Sync syncEvent = new JfrEvents.Sync();
+                    syncEvent.begin();
+                    JfrEvents.Collapse collapseEvent = new JfrEvents.Collapse();
+                    collapseEvent.begin();
+                    int rowsBefore = tree.getRowCount();
+                    TreePath keep = NodeLocator.toTreePath(tree, resolved.viewPath());
+                    TreeCollapser.Result r = TreeCollapser.collapseAllExcept(tree, keep);
+                    LOG.log(Level.FINE, "Collapsed {0} nodes except {1} in {2} ms",
+                            new Object[] {r.collapsed(), resolved.file().getNameExt(), r.millis()});
+                    if (collapseEvent.shouldCommit()) {
+                        collapseEvent.view = kind.name();
+                        collapseEvent.strategy = "bulkExcept";
+                        collapseEvent.collapsed = r.collapsed();
+                        collapseEvent.rows = rowsBefore - tree.getRowCount();
+                        collapseEvent.onEdt = SwingUtilities.isEventDispatchThread();
+                        collapseEvent.commit();
                     }
-
-                    Lookup ctx = Lookups.fixed(node /*, dob, fo if you want*/);
-                    Action selectInFavorites = template.createContextAwareInstance(ctx);
-
-                    // Only fire if the action says it’s enabled for this Node
-                    if (selectInFavorites.isEnabled()) {
-                        // make Favorites visible
-                        owningTC.requestVisible();
-                        selectInFavorites.actionPerformed(
-                                new ActionEvent(this, ActionEvent.ACTION_PERFORMED, "selectInFavorites")
-                        );
+                    if (keep == null) {
+                        // not reachable from the tree's own nodes; let the built-in action find it
+                        revealTimed(owningTC, kind, resolved, "collapseExcept", true);
+                    } else if (syncEvent.shouldCommit()) {
+                        commitSyncEvent(syncEvent, kind, resolved, "collapseExcept", 0, r.nanos(),
+                                rowsBefore - tree.getRowCount());
                     }
-                }
+                });
             });
         };
 
+        // Follow-editor toggle: reveal automatically (debounced) whenever the active editor changes
+        String viewId = kind.id;
+        JToggleButton followBtn = makeOverlayToggle(followEditorIcon, "followEditorButton",
+                on -> follower.setFollowing(btv, viewId, on), "Follow Code Editor");
+
         JButton collapseBtn = makeOverlayButton(collapseTreeIcon, "collapseTreeButton", collapseTreeAction, "Collapse All");
-        JButton selectBtn = makeOverlayButton(syncWithCodeEditorIcon, "selectInTreeButton", selectInTreeAction, "Sync with Code Editor");
+        JButton collapseExceptBtn = makeOverlayButton(collapseExceptActiveIcon, "collapseExceptActiveButton",
+                collapseExceptActiveAction, "Collapse All Except Active File");
+        JButton selectBtn = makeOverlayButton(syncWithCodeEditorIcon, "selectInTreeButton", selectInTreeAction,
+                selectAllOpenAction, "Sync with Code Editor (Shift+Click: all open files)");
+
+        // Saved expansion state of this view (per project group)
+        JPopupMenu expansionMenu = new JPopupMenu();
+        JMenuItem saveItem = new JMenuItem("Save Expanded Nodes");
+        saveItem.addActionListener(e -> runOnEDT("saveExpansion", () -> {
+            JTree tree = TreeHandles.tree(owningTC);
+            if (tree != null) {
+                expansions.save(kind, tree);
+            }
+        }));
+        JMenuItem restoreItem = new JMenuItem("Restore Expanded Nodes");
+        restoreItem.addActionListener(e -> runOnEDT("restoreExpansion", () -> restoreExpansion(owningTC, kind)));
+        expansionMenu.add(saveItem);
+        expansionMenu.add(restoreItem);
+        JButton expansionBtn = makeOverlayMenuButton(expansionIcon, "expansionStateButton", expansionMenu, "Expanded Nodes");
+
+        // Open files only (Projects/Files): a window of this module showing the view filtered to the open editor files
+        JToggleButton openFilesBtn = null;
+        if (kind.isProjects()) {
+            openFilesBtn = makeOverlayToggle(openFilesIcon, "openFilesOnlyButton",
+                    on -> runOnEDT("openFilesOnly", () -> openFiles.setShown(kind, owningTC, on)),
+                    "Show Open Files Only");
+        }
 
         JPanel header = new JPanel();
         header.setBorder(javax.swing.BorderFactory.createEmptyBorder(0, 0, 0, 4));
         header.setOpaque(false);
         header.setLayout(new BoxLayout(header, BoxLayout.X_AXIS));
         header.add(Box.createHorizontalGlue()); // right-align
+        if (openFilesBtn != null) {
+            header.add(openFilesBtn);
+            header.add(Box.createHorizontalStrut(4));
+        }
+        header.add(expansionBtn);
+        header.add(Box.createHorizontalStrut(4));
         header.add(collapseBtn);
         header.add(Box.createHorizontalStrut(4));
+        header.add(collapseExceptBtn);
+        header.add(Box.createHorizontalStrut(4));
+        header.add(followBtn);
+        header.add(Box.createHorizontalStrut(4));
         header.add(selectBtn);
-
-        // Save previous header (if any) and install ours
-        JViewport headerVP = btv.getColumnHeader();
-        Component previousHeader = (headerVP != null) ? headerVP.getView() : null;
-        btv.putClientProperty(CP_ORIGINAL_HEADER_VIEW, previousHeader);
-        btv.setColumnHeaderView(header);
-        btv.putClientProperty(CP_OVERLAYS_INSTALLED, Boolean.TRUE);
+        return new Header(header, followBtn, openFilesBtn);
     }
 
     private void removeButtons(TopComponent targetTC) {
@@ -378,9 +702,13 @@ public final class Installer extends ModuleInstall {
         }
         targetTC.putClientProperty(CP_TC_CONTAINER_LIS, null);
 
-        // Restore header on any BeanTreeView inside
-        BeanTreeView btv = findChild(targetTC, BeanTreeView.class);
-        if (btv != null) {
+        // Restore header on any BeanTreeView inside (only if it is still ours)
+        BeanTreeView btv = TreeHandles.beanTreeView(targetTC);
+        if (btv == null) {
+            return;
+        }
+        follower.forget(btv);
+        if (Boolean.TRUE.equals(btv.getClientProperty(CP_OVERLAYS_INSTALLED))) {
             Object oldHeader = btv.getClientProperty(CP_ORIGINAL_HEADER_VIEW);
             if (oldHeader instanceof Component) {
                 btv.setColumnHeaderView((Component) oldHeader);
@@ -392,52 +720,295 @@ public final class Installer extends ModuleInstall {
         }
     }
 
-    // ---------------------------- utilities ----------------------------
+    // ---------------------------- reveal ----------------------------
 
-    /** Run on EDT (invokeLater if we are on a background thread). */
-    private static void runOnEDT(Runnable r) {
-        if (SwingUtilities.isEventDispatchThread()) {
-            r.run();
+    /**
+     * Reveals the active editor file in every showing supported view. The file's owner and
+     * its node path in each view are resolved in one background stage; the views then only
+     * select the located nodes, in a single EDT pass, without being activated in turn.
+     */
+    static void syncAllViews() {
+        runOnEDT("syncAllViews", () -> {
+            List<TopComponent> views = new ArrayList<>();
+            List<SyncPipeline.Target> targets = new ArrayList<>();
+            for (TopComponent tc : TopComponent.getRegistry().getOpened()) {
+                ViewKind kind = ViewKind.of(tc);
+                if (kind.isSupported() && tc.isShowing() && tc instanceof ExplorerManager.Provider provider) {
+                    Node root = provider.getExplorerManager().getRootContext();
+                    if (root != null) {
+                        views.add(tc);
+                        targets.add(new SyncPipeline.Target(kind, root));
+                    }
+                }
+            }
+            ALL_VIEWS.submitViews(EDITORS.activeEditorFile(), targets, resolved -> {
+                for (int i = 0; i < resolved.size(); i++) {
+                    revealTimed(views.get(i), targets.get(i).view(), resolved.get(i), "allViews", false);
+                }
+            });
+        });
+    }
+
+    /**
+     * Reveals a file from the navigation history in the explorer view activated last, or in
+     * Projects when that is gone.
+     */
+    static void revealInLastView(FileObject file) {
+        runOnEDT("history", () -> {
+            TopComponent tc = lastView.get();
+            if (tc == null || !tc.isOpened()) {
+                tc = ViewKind.LOGICAL.find();
+            }
+            if (tc == null) {
+                return;
+            }
+            TopComponent view = tc;
+            ViewKind kind = ViewKind.of(view);
+            ALL_VIEWS.submit(file, kind.revealsByNode(), kind, locateRoot(view, kind), resolved -> {
+                HISTORY.visited(resolved.file());
+                revealTimed(view, kind, resolved, "history", true);
+            });
+        });
+    }
+
+    /**
+     * Follow-mode reveal of one settle, in all following views at once: like Sync All Views,
+     * one background stage locates the node path under each view's own root (Favorites
+     * included), then each view only selects it and is not activated, so focus stays in the
+     * editor. {@code revealed} hears of each view once its reveal ran.
+     */
+    private void followReveal(List<TopComponent> views, FileObject fo, Consumer<TopComponent> revealed) {
+        List<TopComponent> located = new ArrayList<>(views.size());
+        List<SyncPipeline.Target> targets = new ArrayList<>(views.size());
+        for (TopComponent tc : views) {
+            if (tc instanceof ExplorerManager.Provider provider && provider.getExplorerManager().getRootContext() != null) {
+                located.add(tc);
+                targets.add(new SyncPipeline.Target(ViewKind.of(tc), provider.getExplorerManager().getRootContext()));
+            }
         }
-        else {
-            SwingUtilities.invokeLater(r);
+        followPipeline.submitViews(fo, targets, resolved -> {
+            for (int i = 0; i < resolved.size(); i++) {
+                revealTimed(located.get(i), targets.get(i).view(), resolved.get(i), "follow", false);
+                revealed.accept(located.get(i));
+            }
+        });
+    }
+
+    /** {@link #revealInView} with a {@link JfrEvents.Sync} event around it when recording. */
+    private static void revealTimed(TopComponent owningTC, ViewKind kind, SyncPipeline.Resolved resolved,
+            String trigger, boolean activate) {
+        JfrEvents.Sync event = new JfrEvents.Sync();
+        // repeat sync of a file that is still selected and in view: nothing to do
+        if (TreeHandles.showsRevealed(owningTC, resolved.file())) {
+            if (event.shouldCommit()) {
+                event.skipped = true;
+                commitSyncEvent(event, kind, resolved, trigger, 0, 0, 0);
+            }
+            return;
+        }
+        if (!event.isEnabled()) {
+            revealInView(owningTC, kind, resolved, activate);
+            TreeHandles.noteRevealed(owningTC, resolved.file());
+            return;
         }
+        event.begin();
+        JTree tree = TreeHandles.tree(owningTC);
+        if (tree == null) {
+            long start = System.nanoTime();
+            revealInView(owningTC, kind, resolved, activate);
+            commitSyncEvent(event, kind, resolved, trigger, System.nanoTime() - start, 0, 0);
+            return;
+        }
+        RevealProbe probe = new RevealProbe(event, owningTC, tree, kind, resolved, trigger);
+        tree.addTreeSelectionListener(probe);
+        long start = System.nanoTime();
+        revealInView(owningTC, kind, resolved, activate);
+        probe.dispatched(start, System.nanoTime());
     }
 
-    /** Depth-first search for a child of the given type within a container (EDT only). */
-    private static <T extends Component> T findChild(Container parent, Class<T> type) {
-        // Caller ensures EDT; keep fast and simple
-        for (Component c : parent.getComponents()) {
-            if (type.isInstance(c)) {
-                return type.cast(c);
+    /**
+     * Splits the EDT time of a timed reveal into the adapter's dispatch and the tree's own
+     * work: the dispatch ends when the tree's selection first changes, the tree reveal when
+     * it shows the file selected and scrolled to. A reveal through the ExplorerManager does
+     * both within the dispatch call; the built-in actions select later, so their event is
+     * committed once the tree gets there, or after {@link #TIMEOUT_MS} with what was seen.
+     */
+    private static final class RevealProbe implements TreeSelectionListener {
+        private static final int TIMEOUT_MS = 2_000;
+
+        private final JfrEvents.Sync event;
+        private final TopComponent owningTC;
+        private final JTree tree;
+        private final ViewKind kind;
+        private final SyncPipeline.Resolved resolved;
+        private final String trigger;
+        private final int rowsBefore;
+        private long start;
+        private long dispatchEnd;
+        private long selectedAt;
+        private Timer timeout;
+        private boolean done;
+
+        RevealProbe(JfrEvents.Sync event, TopComponent owningTC, JTree tree, ViewKind kind,
+                SyncPipeline.Resolved resolved, String trigger) {
+            this.event = event;
+            this.owningTC = owningTC;
+            this.tree = tree;
+            this.kind = kind;
+            this.resolved = resolved;
+            this.trigger = trigger;
+            this.rowsBefore = tree.getRowCount();
+        }
+
+        /** The adapter returned; finish now if the tree already shows the file, else wait for it. */
+        void dispatched(long start, long end) {
+            this.start = start;
+            this.dispatchEnd = end;
+            if (TreeHandles.showsRevealed(owningTC, resolved.file())) {
+                finish(end);
+                return;
             }
-            if (c instanceof Container) {
-                T found = findChild((Container) c, type);
-                if (found != null) return found;
+            event.end(); // the event's duration stays the EDT stage
+            timeout = new Timer(TIMEOUT_MS, e -> finish(0));
+            timeout.setRepeats(false);
+            timeout.start();
+        }
+
+        @Override
+        public void valueChanged(TreeSelectionEvent e) {
+            if (selectedAt == 0) {
+                selectedAt = System.nanoTime();
+            }
+            if (timeout != null) {
+                // scrolling follows the selection within the same EDT event
+                EdtWatchdog.invokeLater("revealProbe", () -> {
+                    if (!done && TreeHandles.showsRevealed(owningTC, resolved.file())) {
+                        finish(System.nanoTime());
+                    }
+                });
+            }
+        }
+
+        /** Commits the event; {@code revealedAt} is 0 when the tree never showed the file. */
+        private void finish(long revealedAt) {
+            if (done) {
+                return;
+            }
+            done = true;
+            tree.removeTreeSelectionListener(this);
+            if (timeout != null) {
+                timeout.stop();
+            }
+            TreeHandles.noteRevealed(owningTC, resolved.file());
+            boolean synchronous = timeout == null;
+            long dispatch = synchronous && selectedAt != 0 ? selectedAt - start : dispatchEnd - start;
+            long treeReveal = selectedAt != 0 && revealedAt != 0 ? revealedAt - selectedAt : 0;
+            if (event.shouldCommit()) {
+                commitSyncEvent(event, kind, resolved, trigger, dispatch, treeReveal,
+                        tree.getRowCount() - rowsBefore);
             }
         }
-        return null;
     }
 
-    /** Try to get the JTree used inside a BeanTreeView (EDT only). */
-    private static JTree resolveTreeFrom(BeanTreeView btv) {
-        if (btv == null) return null;
-        JViewport vp = btv.getViewport();
-        if (vp == null) {
-            return null;
+    private static void commitSyncEvent(JfrEvents.Sync event, ViewKind kind, SyncPipeline.Resolved resolved,
+            String trigger, long dispatchNanos, long treeRevealNanos, int rows) {
+        event.view = kind.name();
+        event.trigger = trigger;
+        event.ownerLookup = resolved.phases().ownerLookup();
+        event.dataObjectLookup = resolved.phases().dataObjectLookup();
+        event.nodeLocation = resolved.phases().nodeLocation();
+        event.actionDispatch = dispatchNanos;
+        event.treeReveal = treeRevealNanos;
+        event.rows = Math.abs(rows);
+        event.onEdt = SwingUtilities.isEventDispatchThread();
+        event.commit();
+    }
+
+    /**
+     * Hands the reveal to the owning view's {@link ExplorerViewAdapter} (EDT only). File,
+     * DataObject, Node and node path were already resolved off the EDT by {@link SyncPipeline}.
+     * A file of no open project has no node path; the adapter then falls back to its built-in
+     * action, which finds what it can (e.g. a file whose owner is opened by now).
+     *
+     * @param activate whether the view may be activated (explicit syncs) or must only select (follow mode)
+     */
+    private static void revealInView(TopComponent owningTC, ViewKind kind, SyncPipeline.Resolved resolved,
+            boolean activate) {
+        assert SwingUtilities.isEventDispatchThread();
+        if (!kind.isSupported()) {
+            return;
         }
-        Component v = vp.getView();
-        if (v instanceof JTree) {
-            return (JTree) v;
+        kind.adapter().reveal(owningTC, resolved.file(), resolved.node(), resolved.viewPath(), activate);
+    }
+
+    /** The filtered window of a view closed, by its toggle or otherwise: release the toggle (EDT). */
+    private static void openFilesClosed(ViewKind kind) {
+        TopComponent tc = kind.find();
+        BeanTreeView btv = tc != null ? TreeHandles.beanTreeView(tc) : null;
+        if (btv != null && btv.getClientProperty(CP_HEADER) instanceof Header header && header.openFilesOnly() != null) {
+            header.openFilesOnly().setSelected(false);
         }
-        if (v instanceof JComponent) {
-            return findChild((JComponent) v, JTree.class);
+    }
+
+    /**
+     * Root node of the view to locate the file under, for views that reveal by node path;
+     * {@code null} for views that reveal by Node (Favorites) and other TopComponents.
+     */
+    private static Node locateRoot(TopComponent owningTC, ViewKind kind) {
+        if (kind.isSupported() && !kind.revealsByNode() && owningTC instanceof ExplorerManager.Provider provider) {
+            return provider.getExplorerManager().getRootContext();
         }
         return null;
     }
 
+    // ---------------------------- utilities ----------------------------
+
+    /**
+     * Run on EDT (invokeLater if we are on a background thread); timed by {@link EdtWatchdog}
+     * under {@code kind}.
+     */
+    private static void runOnEDT(String kind, Runnable r) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            EdtWatchdog.runNow(kind, r);
+        }
+        else {
+            EdtWatchdog.invokeLater(kind, r);
+        }
+    }
+
     private static JButton makeOverlayButton(Icon icon, String name, Runnable action, String toolTipText) {
         JButton b = new JButton(icon);
+        styleOverlayButton(b, name, toolTipText);
+        b.addActionListener(e -> action.run());
+        return b;
+    }
+
+    /** Button running {@code shiftAction} instead of {@code action} when clicked with Shift held. */
+    private static JButton makeOverlayButton(Icon icon, String name, Runnable action, Runnable shiftAction,
+            String toolTipText) {
+        JButton b = new JButton(icon);
+        styleOverlayButton(b, name, toolTipText);
+        b.addActionListener(e -> ((e.getModifiers() & ActionEvent.SHIFT_MASK) != 0 ? shiftAction : action).run());
+        return b;
+    }
+
+    private static JButton makeOverlayMenuButton(Icon icon, String name, JPopupMenu menu, String toolTipText) {
+        JButton b = new JButton(icon);
+        styleOverlayButton(b, name, toolTipText);
+        b.addActionListener(e -> menu.show(b, 0, b.getHeight()));
+        return b;
+    }
+
+    private static JToggleButton makeOverlayToggle(Icon icon, String name, Consumer<Boolean> action, String toolTipText) {
+        JToggleButton b = new JToggleButton(icon);
+        styleOverlayButton(b, name, toolTipText);
+        // the filled content area doubles as the “on” indicator
+        b.addItemListener(e -> b.setContentAreaFilled(b.isSelected()));
+        b.addActionListener(e -> action.accept(b.isSelected()));
+        return b;
+    }
+
+    private static void styleOverlayButton(AbstractButton b, String name, String toolTipText) {
         b.setName(Objects.requireNonNullElse(name, "overlayButton"));
         b.setOpaque(false);
         b.setContentAreaFilled(false);
@@ -447,31 +1018,22 @@ public final class Installer extends ModuleInstall {
         b.setMargin(new java.awt.Insets(0, 0, 0, 0));
         b.setBorder(javax.swing.BorderFactory.createEmptyBorder(4, 0, 4, 0));
         b.setToolTipText(toolTipText); // add tooltip text if desired
-        b.addActionListener(e -> action.run());
-        b.addMouseListener(new java.awt.event.MouseAdapter() {
-            @Override
-            public void mouseEntered(java.awt.event.MouseEvent evt) {
-                b.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
-                b.setContentAreaFilled(true);
-            }
-            @Override
-            public void mouseExited(java.awt.event.MouseEvent evt) {
-                b.setCursor(Cursor.getDefaultCursor());
-                b.setContentAreaFilled(false);
-            }
-        });
-        return b;
+        b.addMouseListener(HOVER);
     }
 
-    private static Icon safeLoadIcon(String path, int size) {
-        Icon ic = ImageUtilities.loadImageIcon(path, true);
-        if (ic != null) return ic;
-        int s = Math.max(12, size);
-        BufferedImage bi = new BufferedImage(s, s, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2 = bi.createGraphics();
-        g2.setColor(new java.awt.Color(0, 0, 0, 0)); g2.fillRect(0, 0, s, s);
-        g2.setColor(new java.awt.Color(0, 0, 0, 140)); g2.drawRect(1, 1, s - 3, s - 3);
-        g2.dispose();
-        return new ImageIcon(bi);
-    }
+    // Stateless, so one instance serves every overlay button
+    private static final java.awt.event.MouseAdapter HOVER = new java.awt.event.MouseAdapter() {
+        @Override
+        public void mouseEntered(java.awt.event.MouseEvent evt) {
+            AbstractButton b = (AbstractButton) evt.getComponent();
+            b.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+            b.setContentAreaFilled(true);
+        }
+        @Override
+        public void mouseExited(java.awt.event.MouseEvent evt) {
+            AbstractButton b = (AbstractButton) evt.getComponent();
+            b.setCursor(Cursor.getDefaultCursor());
+            b.setContentAreaFilled(b.isSelected());
+        }
+    };
 }
\ No newline at end of file
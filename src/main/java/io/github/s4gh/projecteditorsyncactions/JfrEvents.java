@@ -0,0 +1,106 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder events for the plugin's user-visible operations.
+ * <p>
+ * Call sites create an event and check {@link Event#isEnabled()} before doing any
+ * extra measuring; with recording off that check is all that runs and the event object
+ * does not escape, so the JIT removes the allocation.
+ */
+final class JfrEvents {
+
+    private static final String CATEGORY = "Editor Project Sync";
+
+    private JfrEvents() {
+    }
+
+    @Name("io.github.s4gh.projecteditorsyncactions.Sync")
+    @Label("Sync with Code Editor")
+    @Description("Reveal of the active editor file in an explorer view; the event duration covers the EDT stage")
+    @Category({"NetBeans", CATEGORY})
+    @StackTrace(false)
+    static final class Sync extends Event {
+        @Label("View")
+        String view;
+        @Label("Trigger")
+        @Description("button, follow, allViews, history or collapseExcept")
+        String trigger;
+        @Label("Skipped")
+        @Description("The file was already selected and in view; nothing was dispatched")
+        boolean skipped;
+        @Label("Owner Lookup")
+        @Description("Owning open project of the file, looked up off the EDT")
+        @Timespan
+        long ownerLookup;
+        @Label("DataObject Lookup")
+        @Timespan
+        long dataObjectLookup;
+        @Label("Node Location")
+        @Timespan
+        long nodeLocation;
+        @Label("Action Dispatch")
+        @Description("From the view adapter's call to the tree's first selection change")
+        @Timespan
+        long actionDispatch;
+        @Label("Tree Reveal")
+        @Description("From the tree's selection change until it shows the file selected and scrolled to, "
+                + "also when a built-in select action gets there later; 0 if it never did")
+        @Timespan
+        long treeReveal;
+        @Label("Rows Affected")
+        int rows;
+        @Label("On EDT")
+        boolean onEdt;
+    }
+
+    @Name("io.github.s4gh.projecteditorsyncactions.Collapse")
+    @Label("Collapse Tree")
+    @Category({"NetBeans", CATEGORY})
+    @StackTrace(false)
+    static final class Collapse extends Event {
+        @Label("View")
+        String view;
+        @Label("Strategy")
+        @Description("action (project module), bulk or bulkExcept")
+        String strategy;
+        @Label("Nodes Collapsed")
+        int collapsed;
+        @Label("Rows Affected")
+        int rows;
+        @Label("On EDT")
+        boolean onEdt;
+    }
+
+    @Name("io.github.s4gh.projecteditorsyncactions.HeaderInstall")
+    @Label("Install View Header")
+    @Category({"NetBeans", CATEGORY})
+    @StackTrace(false)
+    static final class HeaderInstall extends Event {
+        @Label("View")
+        String view;
+        @Label("On EDT")
+        boolean onEdt;
+    }
+
+    @Name("io.github.s4gh.projecteditorsyncactions.EnsureButtons")
+    @Label("Ensure Header Buttons")
+    @Category({"NetBeans", CATEGORY})
+    @StackTrace(false)
+    static final class EnsureButtons extends Event {
+        @Label("View")
+        String view;
+        @Label("Outcome")
+        @Description("installed, present or deferred (waiting for the tree view to appear)")
+        String outcome;
+        @Label("On EDT")
+        boolean onEdt;
+    }
+}
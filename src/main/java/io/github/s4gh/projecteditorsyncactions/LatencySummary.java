@@ -0,0 +1,64 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Latency percentiles of one action kind, in microseconds; mapped to
+ * {@code CompositeData} by {@link EdtLatencyMXBean}.
+ */
+public final class LatencySummary {
+
+    private final String kind;
+    private final long count;
+    private final long queueP50;
+    private final long queueP99;
+    private final long queueMax;
+    private final long execP50;
+    private final long execP99;
+    private final long execMax;
+
+    @ConstructorProperties({"kind", "count", "queueP50", "queueP99", "queueMax", "execP50", "execP99", "execMax"})
+    public LatencySummary(String kind, long count, long queueP50, long queueP99, long queueMax,
+            long execP50, long execP99, long execMax) {
+        this.kind = kind;
+        this.count = count;
+        this.queueP50 = queueP50;
+        this.queueP99 = queueP99;
+        this.queueMax = queueMax;
+        this.execP50 = execP50;
+        this.execP99 = execP99;
+        this.execMax = execMax;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getQueueP50() {
+        return queueP50;
+    }
+
+    public long getQueueP99() {
+        return queueP99;
+    }
+
+    public long getQueueMax() {
+        return queueMax;
+    }
+
+    public long getExecP50() {
+        return execP50;
+    }
+
+    public long getExecP99() {
+        return execP99;
+    }
+
+    public long getExecMax() {
+        return execMax;
+    }
+}
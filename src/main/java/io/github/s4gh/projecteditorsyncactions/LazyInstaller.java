@@ -0,0 +1,212 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.awt.Toolkit;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.JTree;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import org.openide.util.NbPreferences;
+import org.openide.windows.TopComponent;
+
+/**
+ * Defers header installation off the startup path.
+ * <p>
+ * A deferred view gets its header as soon as it becomes showing or the mouse enters its
+ * tree; views that are already showing are also queued and installed in EDT slices of at
+ * most {@value #SLICE_MILLIS} ms, each slice waiting until the event queue is idle. With
+ * the {@value #PREF_LAZY_INSTALL} preference off, everything is installed immediately.
+ * Once the startup queue drains a one-line timing report is logged.
+ */
+final class LazyInstaller {
+
+    private static final Logger LOG = Logger.getLogger(LazyInstaller.class.getName());
+
+    static final String PREF_LAZY_INSTALL = "lazyHeaderInstall";
+
+    static final int SLICE_MILLIS = 8;
+    private static final long SLICE_NANOS = SLICE_MILLIS * 1_000_000L;
+    // Pause between slices, and how often a slice may yield to a busy event queue
+    private static final int GAP_MILLIS = 40;
+    private static final int MAX_YIELDS = 25;
+
+    // Client property on TopComponent: armed Trigger
+    private static final String CP_TRIGGER = "s4gh.overlays.lazyTrigger";
+
+    private final Consumer<TopComponent> install;
+    private final Predicate<TopComponent> installed;
+    private final boolean lazy;
+    private final ArrayDeque<TopComponent> queue = new ArrayDeque<>();
+    private final List<TopComponent> armed = new ArrayList<>();
+    private final Timer timer;
+
+    // Startup timing; reported once, when the first drain completes
+    private long restoredNanos;
+    private long uiReadyNanos;
+    private long idleStart;
+    private int slices;
+    private int yields;
+    private long longestSlice;
+    private int installedIdle;
+    private boolean measured;
+    private boolean reported;
+
+    LazyInstaller(Consumer<TopComponent> install, Predicate<TopComponent> installed) {
+        this.install = install;
+        this.installed = installed;
+        this.lazy = NbPreferences.forModule(LazyInstaller.class).getBoolean(PREF_LAZY_INSTALL, true);
+        this.timer = new Timer(GAP_MILLIS, e -> EdtWatchdog.runNow("idleInstall", this::slice));
+        timer.setRepeats(false);
+    }
+
+    /** Installs now in eager mode; otherwise on first show/mouse, or in an idle slice if showing (EDT). */
+    void request(TopComponent tc) {
+        assert SwingUtilities.isEventDispatchThread();
+        if (!lazy) {
+            install.accept(tc);
+            return;
+        }
+        if (installed.test(tc)) {
+            return;
+        }
+        arm(tc);
+        if (tc.isShowing() && !queue.contains(tc)) {
+            queue.add(tc);
+            if (idleStart == 0) {
+                idleStart = System.nanoTime();
+            }
+            timer.restart();
+        }
+    }
+
+    /** Time spent in {@code restored()} and in the UI-ready hook, for the startup report. */
+    void startupMeasured(long restoredNanos, long uiReadyNanos) {
+        this.restoredNanos = restoredNanos;
+        this.uiReadyNanos = uiReadyNanos;
+        measured = true;
+        if (queue.isEmpty()) {
+            report();
+        }
+    }
+
+    /** The view was closed; drops its trigger and queue entry (EDT). */
+    void forget(TopComponent tc) {
+        queue.remove(tc);
+        disarm(tc);
+    }
+
+    /** Stops pending slices and disarms every trigger (EDT). */
+    void dispose() {
+        timer.stop();
+        queue.clear();
+        for (TopComponent tc : new ArrayList<>(armed)) {
+            disarm(tc);
+        }
+    }
+
+    private void slice() {
+        if (Toolkit.getDefaultToolkit().getSystemEventQueue().peekEvent() != null && yields < MAX_YIELDS) {
+            yields++;
+            timer.restart(); // user input or repaints pending; not idle yet
+            return;
+        }
+        long start = System.nanoTime();
+        do {
+            TopComponent tc = queue.poll();
+            if (tc == null) {
+                break;
+            }
+            if (tc.isOpened()) {
+                disarm(tc);
+                install.accept(tc);
+                installedIdle++;
+            }
+        } while (System.nanoTime() - start < SLICE_NANOS);
+        slices++;
+        longestSlice = Math.max(longestSlice, System.nanoTime() - start);
+        if (!queue.isEmpty()) {
+            timer.restart();
+        } else {
+            report();
+        }
+    }
+
+    private void report() {
+        if (reported || !measured) {
+            return;
+        }
+        reported = true;
+        long idleMillis = idleStart == 0 ? 0 : (System.nanoTime() - idleStart) / 1_000_000L;
+        LOG.log(Level.INFO, "Startup: restored() {0} ms, UI-ready hook {1} ms; {2} header(s) installed in "
+                + "{3} idle slice(s) over {4} ms (longest slice {5} ms, {6} yield(s)), {7} view(s) waiting for first show",
+                new Object[] {restoredNanos / 1_000_000L, uiReadyNanos / 1_000_000L, installedIdle,
+                    slices, idleMillis, longestSlice / 1_000_000L, yields, armed.size()});
+    }
+
+    private void arm(TopComponent tc) {
+        if (tc.getClientProperty(CP_TRIGGER) != null) {
+            return;
+        }
+        Trigger trigger = new Trigger(tc, TreeHandles.tree(tc));
+        tc.addHierarchyListener(trigger);
+        if (trigger.tree != null) {
+            trigger.tree.addMouseListener(trigger);
+        }
+        tc.putClientProperty(CP_TRIGGER, trigger);
+        armed.add(tc);
+    }
+
+    private void disarm(TopComponent tc) {
+        Object o = tc.getClientProperty(CP_TRIGGER);
+        if (o instanceof Trigger trigger) {
+            tc.removeHierarchyListener(trigger);
+            if (trigger.tree != null) {
+                trigger.tree.removeMouseListener(trigger);
+            }
+            tc.putClientProperty(CP_TRIGGER, null);
+        }
+        armed.remove(tc);
+    }
+
+    private void fire(TopComponent tc) {
+        disarm(tc);
+        queue.remove(tc);
+        install.accept(tc);
+        if (queue.isEmpty()) {
+            timer.stop();
+            report();
+        }
+    }
+
+    /** First show of the view, or the mouse entering its tree. */
+    private final class Trigger extends MouseAdapter implements HierarchyListener {
+        final TopComponent tc;
+        final JTree tree;
+
+        Trigger(TopComponent tc, JTree tree) {
+            this.tc = tc;
+            this.tree = tree;
+        }
+
+        @Override
+        public void hierarchyChanged(HierarchyEvent e) {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && tc.isShowing()) {
+                fire(tc);
+            }
+        }
+
+        @Override
+        public void mouseEntered(MouseEvent e) {
+            fire(tc);
+        }
+    }
+}
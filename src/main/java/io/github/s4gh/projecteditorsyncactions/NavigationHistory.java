@@ -0,0 +1,402 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.openide.filesystems.FileObject;
+import org.openide.modules.Places;
+
+/**
+ * Recently synced or activated files, with visit count and last visit, for the
+ * {@link NavigationHistoryAction} popup.
+ * <p>
+ * Entries live in parallel primitive arrays indexed by slot, so a large history costs a
+ * few arrays plus one URL and one name string per file; URLs find their slot through an
+ * open-addressing table of ints rather than a map of boxed slots. Slots are reused as a
+ * ring with a second-chance hand: a file visited since the hand last passed it keeps its
+ * slot for one more round, so frequently used files survive while one-off visits are
+ * replaced.
+ * <p>
+ * Every slot also keeps a 64-bit mask of the characters in its lower-case file name, and
+ * each of those characters has a posting list of the slots whose name contains it. A
+ * prefix, substring or subsequence match contains every character of the query, so a
+ * query only visits the shortest posting list among its characters, rejects the slots
+ * whose mask lacks one of the others (one AND per slot), and checks the rest against the
+ * name. Thread safe; persisted under the user directory between sessions.
+ */
+final class NavigationHistory {
+
+    private static final Logger LOG = Logger.getLogger(NavigationHistory.class.getName());
+
+    static final int CAPACITY = 4096;
+    private static final int MAGIC = 0x53344e48; // "S4NH"
+    private static final int VERSION = 1;
+    private static final String FILE = "var/s4gh/history.bin";
+
+    private static final long HOUR = 3_600_000L;
+    private static final long DAY = 24 * HOUR;
+    private static final long WEEK = 7 * DAY;
+
+    /** One popup row. */
+    record Match(String url, String name, int visits) {
+    }
+
+    private final int capacity;
+    private final String[] urls;
+    private final String[] names; // lower case, for matching
+    private final String[] displayNames;
+    private final long[] masks;
+    private final int[] visits;
+    private final long[] lastVisit;
+    private final boolean[] referenced;
+    /** Slot + 1 per URL hash, 0 free; linear probing, at most half full. */
+    private final int[] table;
+    /** Slots per mask bit, may hold slots whose name lost that bit since, see {@link #index}. */
+    private final int[][] postings = new int[64][];
+    private final int[] postingSize = new int[64];
+    /** Entries per mask bit whose current name has it, to know when a list is mostly stale. */
+    private final int[] postingLive = new int[64];
+    /** Bits whose posting list holds the slot, live or stale. */
+    private final long[] indexed;
+    private int hand;
+    private int size;
+
+    NavigationHistory() {
+        this(CAPACITY);
+    }
+
+    NavigationHistory(int capacity) {
+        this.capacity = capacity;
+        urls = new String[capacity];
+        names = new String[capacity];
+        displayNames = new String[capacity];
+        masks = new long[capacity];
+        visits = new int[capacity];
+        lastVisit = new long[capacity];
+        referenced = new boolean[capacity];
+        indexed = new long[capacity];
+        table = new int[Integer.highestOneBit(Math.max(1, capacity) * 2 - 1) * 2];
+        for (int b = 0; b < 64; b++) {
+            postings[b] = new int[16];
+        }
+    }
+
+    /** Records a visit of {@code fo}; ignores {@code null}. */
+    void visited(FileObject fo) {
+        if (fo != null && fo.isData()) {
+            visited(fo.toURL().toExternalForm(), fo.getNameExt(), System.currentTimeMillis());
+        }
+    }
+
+    synchronized void visited(String url, String name, long when) {
+        int s = find(url);
+        if (s >= 0) {
+            visits[s]++;
+            lastVisit[s] = Math.max(lastVisit[s], when);
+            referenced[s] = true;
+            return;
+        }
+        s = freeSlot();
+        urls[s] = url;
+        insert(s);
+        displayNames[s] = name;
+        names[s] = name.toLowerCase(Locale.ROOT);
+        index(s, mask(names[s]));
+        visits[s] = 1;
+        lastVisit[s] = when;
+        referenced[s] = false; // earns its second chance by being visited again
+    }
+
+    private int freeSlot() {
+        if (size < capacity) {
+            return size++;
+        }
+        while (referenced[hand]) {
+            referenced[hand] = false;
+            hand = (hand + 1) % capacity;
+        }
+        int s = hand;
+        hand = (hand + 1) % capacity;
+        remove(s);
+        return s;
+    }
+
+    // ---------------------------- URL table ----------------------------
+
+    /** The slot of {@code url}, or -1. */
+    private int find(String url) {
+        int m = table.length - 1;
+        for (int i = mix(url.hashCode()) & m; table[i] != 0; i = (i + 1) & m) {
+            if (urls[table[i] - 1].equals(url)) {
+                return table[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(int s) {
+        int m = table.length - 1;
+        int i = mix(urls[s].hashCode()) & m;
+        while (table[i] != 0) {
+            i = (i + 1) & m;
+        }
+        table[i] = s + 1;
+    }
+
+    /** Removes slot {@code s}, shifting later entries of its probe run back into the gap. */
+    private void remove(int s) {
+        int m = table.length - 1;
+        int i = mix(urls[s].hashCode()) & m;
+        while (table[i] != s + 1) {
+            i = (i + 1) & m;
+        }
+        for (int j = (i + 1) & m; table[j] != 0; j = (j + 1) & m) {
+            int home = mix(urls[table[j] - 1].hashCode()) & m;
+            // move j into the gap at i unless its home lies cyclically in (i, j]
+            if (((j - home) & m) >= ((j - i) & m)) {
+                table[i] = table[j];
+                i = j;
+            }
+        }
+        table[i] = 0;
+    }
+
+    private static int mix(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    // ---------------------------- posting lists ----------------------------
+
+    /**
+     * Gives slot {@code s} the name mask {@code mask}. The slot is appended only to the lists
+     * it is not in yet; entries for bits the old name had and the new one lacks stay behind
+     * as stale and are skipped by the mask check, until a list that is mostly stale is
+     * compacted.
+     */
+    private void index(int s, long mask) {
+        for (long lost = masks[s] & ~mask; lost != 0; lost &= lost - 1) {
+            int b = Long.numberOfTrailingZeros(lost);
+            postingLive[b]--;
+            if (postingSize[b] > 2 * postingLive[b] + 16) {
+                compact(b, s);
+            }
+        }
+        for (long gained = mask & ~masks[s]; gained != 0; gained &= gained - 1) {
+            postingLive[Long.numberOfTrailingZeros(gained)]++;
+        }
+        for (long add = mask & ~indexed[s]; add != 0; add &= add - 1) {
+            int b = Long.numberOfTrailingZeros(add);
+            if (postingSize[b] == postings[b].length) {
+                postings[b] = Arrays.copyOf(postings[b], postingSize[b] * 2);
+            }
+            postings[b][postingSize[b]++] = s;
+        }
+        indexed[s] |= mask;
+        masks[s] = mask;
+    }
+
+    /** Drops the stale entries of list {@code b}, counting {@code s} as already without the bit. */
+    private void compact(int b, int s) {
+        long bit = 1L << b;
+        int[] list = postings[b];
+        int n = 0;
+        for (int i = 0; i < postingSize[b]; i++) {
+            int e = list[i];
+            if (e != s && (masks[e] & bit) != 0) {
+                list[n++] = e;
+            } else {
+                indexed[e] &= ~bit;
+            }
+        }
+        postingSize[b] = n;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * The best {@code max} entries for {@code query}: prefix matches of the file name first,
+     * then substrings, then subsequences, each ranked by visits weighted by recency.
+     * An empty query ranks the whole history that way.
+     */
+    synchronized List<Match> search(String query, int max) {
+        String q = query.toLowerCase(Locale.ROOT).trim();
+        long qMask = mask(q);
+        long now = System.currentTimeMillis();
+        // bounded top-k, kept sorted by descending score
+        int[] top = new int[max];
+        double[] topScore = new double[max];
+        int found = 0;
+        // every match contains each query character: walk the shortest of their lists
+        int[] candidates = null;
+        int count = size;
+        for (long bits = qMask; bits != 0; bits &= bits - 1) {
+            int b = Long.numberOfTrailingZeros(bits);
+            if (postingSize[b] < count || candidates == null) {
+                candidates = postings[b];
+                count = postingSize[b];
+            }
+        }
+        for (int c = 0; c < count; c++) {
+            int s = candidates == null ? c : candidates[c];
+            if ((masks[s] & qMask) != qMask) {
+                continue;
+            }
+            int rank = matchRank(names[s], q);
+            if (rank < 0) {
+                continue;
+            }
+            double score = rank * 1e6 + frecency(s, now);
+            if (found == max && score <= topScore[max - 1]) {
+                continue;
+            }
+            int i = found < max ? found++ : max - 1;
+            while (i > 0 && topScore[i - 1] < score) {
+                top[i] = top[i - 1];
+                topScore[i] = topScore[i - 1];
+                i--;
+            }
+            top[i] = s;
+            topScore[i] = score;
+        }
+        List<Match> out = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            int s = top[i];
+            out.add(new Match(urls[s], displayNames[s], visits[s]));
+        }
+        return out;
+    }
+
+    /** 3 prefix, 2 substring, 1 subsequence, -1 no match; an empty query matches everything. */
+    private static int matchRank(String name, String q) {
+        if (q.isEmpty() || name.startsWith(q)) {
+            return 3;
+        }
+        if (name.contains(q)) {
+            return 2;
+        }
+        int j = 0;
+        for (int i = 0; i < name.length() && j < q.length(); i++) {
+            if (name.charAt(i) == q.charAt(j)) {
+                j++;
+            }
+        }
+        return j == q.length() ? 1 : -1;
+    }
+
+    private double frecency(int s, long now) {
+        long age = now - lastVisit[s];
+        double weight = age < HOUR ? 4 : age < DAY ? 2 : age < WEEK ? 1 : 0.5;
+        return visits[s] * weight;
+    }
+
+    /** Bit per letter and digit, three for common separators, one shared by everything else. */
+    static long mask(String s) {
+        long m = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            int bit;
+            if (c >= 'a' && c <= 'z') {
+                bit = c - 'a';
+            } else if (c >= '0' && c <= '9') {
+                bit = 26 + c - '0';
+            } else if (c == '.') {
+                bit = 36;
+            } else if (c == '_') {
+                bit = 37;
+            } else if (c == '-') {
+                bit = 38;
+            } else if (c == ' ') {
+                continue;
+            } else {
+                bit = 63;
+            }
+            m |= 1L << bit;
+        }
+        return m;
+    }
+
+    // ---------------------------- storage ----------------------------
+
+    /**
+     * Merges the saved history, if any, into this one. It is loaded in the background while
+     * visits are already recorded: a file visited before the load finished keeps those visits
+     * and gains the saved ones. The file is read before taking the lock, so recording a
+     * visit never waits for the disk.
+     */
+    void load() {
+        File file = new File(Places.getUserDirectory(), FILE);
+        if (!file.isFile()) {
+            return;
+        }
+        record Saved(String url, String name, int visits, long when) {
+        }
+        List<Saved> saved = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+                throw new IOException("Not a navigation history");
+            }
+            int count = ExpansionSnapshots.readVarInt(in);
+            for (int i = 0; i < count; i++) {
+                saved.add(new Saved(in.readUTF(), in.readUTF(), Math.max(1, ExpansionSnapshots.readVarInt(in)),
+                        in.readLong()));
+            }
+        } catch (IOException ex) {
+            LOG.log(Level.INFO, "Ignoring unreadable navigation history " + file, ex);
+            return;
+        }
+        synchronized (this) {
+            for (Saved e : saved) {
+                int slot = find(e.url());
+                if (slot < 0) {
+                    visited(e.url(), e.name(), e.when());
+                    visits[find(e.url())] = e.visits();
+                } else {
+                    visits[slot] += e.visits();
+                    lastVisit[slot] = Math.max(lastVisit[slot], e.when());
+                }
+            }
+        }
+    }
+
+    /** Writes the history, oldest slot first so a reload keeps the ring order. */
+    void save() {
+        File file = new File(Places.getUserDirectory(), FILE);
+        try {
+            Path target = file.toPath();
+            Files.createDirectories(target.getParent());
+            Path tmp = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                synchronized (this) {
+                    out.writeInt(MAGIC);
+                    out.writeByte(VERSION);
+                    ExpansionSnapshots.writeVarInt(out, size);
+                    int first = size < capacity ? 0 : hand;
+                    for (int i = 0; i < size; i++) {
+                        int s = (first + i) % capacity;
+                        out.writeUTF(urls[s]);
+                        out.writeUTF(displayNames[s]);
+                        ExpansionSnapshots.writeVarInt(out, visits[s]);
+                        out.writeLong(lastVisit[s]);
+                    }
+                }
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            LOG.log(Level.INFO, "Could not save navigation history to " + file, ex);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Window;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.net.MalformedURLException;
+import java.net.URI;
+import javax.swing.BorderFactory;
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.DefaultListModel;
+import javax.swing.JDialog;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import org.openide.awt.ActionID;
+import org.openide.awt.ActionReference;
+import org.openide.awt.ActionReferences;
+import org.openide.awt.ActionRegistration;
+import org.openide.filesystems.URLMapper;
+import org.openide.util.NbBundle.Messages;
+import org.openide.windows.WindowManager;
+
+/**
+ * Keyboard popup over the {@link NavigationHistory}: type to filter, Up/Down to move,
+ * Enter to reveal the chosen file in the explorer view used last, Escape to close.
+ */
+@ActionID(
+    category = "Window",
+    id = "io.github.s4gh.navigator.NavigationHistoryAction"
+)
+@ActionRegistration(
+    displayName = "#CTL_NavigationHistoryAction"
+)
+@ActionReferences({
+    @ActionReference(path = "Menu/GoTo", position = 2950),
+    @ActionReference(path = "Shortcuts", name = "DAS-H")
+})
+@Messages("CTL_NavigationHistoryAction=Reveal Recent File...")
+public final class NavigationHistoryAction implements ActionListener {
+
+    private static final int ROWS = 50;
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        Window owner = WindowManager.getDefault().getMainWindow();
+        JDialog popup = new JDialog(owner, Bundle.CTL_NavigationHistoryAction());
+        popup.setUndecorated(true);
+
+        JTextField query = new JTextField();
+        DefaultListModel<NavigationHistory.Match> model = new DefaultListModel<>();
+        JList<NavigationHistory.Match> list = new JList<>(model);
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setFocusable(false);
+        list.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> l, Object value, int index,
+                    boolean isSelected, boolean cellHasFocus) {
+                NavigationHistory.Match m = (NavigationHistory.Match) value;
+                super.getListCellRendererComponent(l, m.name(), index, isSelected, cellHasFocus);
+                setToolTipText(m.url());
+                return this;
+            }
+        });
+
+        Runnable filter = () -> {
+            model.clear();
+            for (NavigationHistory.Match m : Installer.history().search(query.getText(), ROWS)) {
+                model.addElement(m);
+            }
+            if (!model.isEmpty()) {
+                list.setSelectedIndex(0);
+            }
+        };
+        Runnable choose = () -> {
+            NavigationHistory.Match m = list.getSelectedValue();
+            popup.dispose();
+            if (m != null) {
+                try {
+                    Installer.revealInLastView(URLMapper.findFileObject(URI.create(m.url()).toURL()));
+                } catch (MalformedURLException | IllegalArgumentException ex) {
+                    // entry of a file that no longer resolves; nothing to reveal
+                }
+            }
+        };
+
+        query.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent de) {
+                filter.run();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent de) {
+                filter.run();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent de) {
+                filter.run();
+            }
+        });
+        query.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent ke) {
+                int i = list.getSelectedIndex();
+                switch (ke.getKeyCode()) {
+                    case KeyEvent.VK_DOWN -> select(list, Math.min(i + 1, model.size() - 1));
+                    case KeyEvent.VK_UP -> select(list, Math.max(i - 1, 0));
+                    case KeyEvent.VK_ENTER -> choose.run();
+                    case KeyEvent.VK_ESCAPE -> popup.dispose();
+                    default -> {
+                        return;
+                    }
+                }
+                ke.consume();
+            }
+        });
+        list.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent me) {
+                if (me.getClickCount() == 2) {
+                    choose.run();
+                }
+            }
+        });
+        popup.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowDeactivated(WindowEvent we) {
+                popup.dispose();
+            }
+        });
+
+        JScrollPane scroll = new JScrollPane(list);
+        scroll.setPreferredSize(new Dimension(420, 320));
+        JPanel panel = new JPanel(new BorderLayout(0, 4));
+        panel.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(java.awt.Color.GRAY), BorderFactory.createEmptyBorder(4, 4, 4, 4)));
+        panel.add(query, BorderLayout.NORTH);
+        panel.add(scroll, BorderLayout.CENTER);
+        popup.setContentPane(panel);
+        filter.run();
+        popup.pack();
+        popup.setLocationRelativeTo(owner);
+        popup.setVisible(true);
+        query.requestFocusInWindow();
+    }
+
+    private static void select(JList<?> list, int index) {
+        if (index >= 0) {
+            list.setSelectedIndex(index);
+            list.ensureIndexIsVisible(index);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.swing.JTree;
+import javax.swing.SwingUtilities;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreeNode;
+import javax.swing.tree.TreePath;
+import org.netbeans.api.project.Project;
+import org.openide.explorer.view.Visualizer;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+import org.openide.loaders.DataObject;
+import org.openide.nodes.Node;
+
+/**
+ * Finds the explorer Node that represents a file, and the matching JTree path.
+ * <p>
+ * {@link #findPath} walks down from a view's root by file containment and may compute
+ * child nodes, so it belongs on a background thread; {@link #toTreePath} only maps
+ * already resolved Nodes onto the tree and runs on the EDT.
+ */
+final class NodeLocator {
+
+    private NodeLocator() {
+    }
+
+    /**
+     * Node path from (excluding) {@code root} down to the node of {@code target}, or
+     * {@code null} when the view does not show the file. Background thread only.
+     */
+    static Node[] findPath(Node root, FileObject target) {
+        List<Node> path = new ArrayList<>();
+        Node current = root;
+        while (current != null) {
+            Node next = null;
+            FileObject nextFile = null;
+            for (Node child : current.getChildren().getNodes(true)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return null;
+                }
+                FileObject f = fileOf(child);
+                if (f == null) {
+                    continue;
+                }
+                if (f.equals(target)) {
+                    path.add(child);
+                    return path.toArray(Node[]::new);
+                }
+                // nested folders/projects: descend into the closest container of the target
+                if (f.isFolder() && FileUtil.isParentOf(f, target)
+                        && (nextFile == null || FileUtil.isParentOf(nextFile, f))) {
+                    next = child;
+                    nextFile = f;
+                }
+            }
+            if (next != null) {
+                path.add(next);
+            }
+            current = next;
+        }
+        return null;
+    }
+
+    /** Maps a resolved Node path onto the tree; {@code null} if the tree does not show it (EDT only). */
+    static TreePath toTreePath(JTree tree, Node[] path) {
+        assert SwingUtilities.isEventDispatchThread();
+        if (path == null || path.length == 0) {
+            return null;
+        }
+        TreeNode leaf = Visualizer.findVisualizer(path[path.length - 1]);
+        return leaf != null ? toTreePath(tree, leaf) : null;
+    }
+
+    /** Path of a visualizer node inside the tree's model; {@code null} if it is not part of it. */
+    static TreePath toTreePath(JTree tree, TreeNode leaf) {
+        TreeModel model = tree.getModel();
+        Object root = model != null ? model.getRoot() : null;
+        List<Object> chain = new ArrayList<>();
+        for (TreeNode n = leaf; n != null; n = n.getParent()) {
+            chain.add(n);
+            if (n == root) {
+                Collections.reverse(chain);
+                return new TreePath(chain.toArray());
+            }
+        }
+        return null;
+    }
+
+    /** The file a node stands for: its DataObject's primary file, or a project's directory. */
+    static FileObject fileOf(Node node) {
+        DataObject dob = node.getLookup().lookup(DataObject.class);
+        if (dob != null) {
+            return dob.getPrimaryFile();
+        }
+        FileObject fo = node.getLookup().lookup(FileObject.class);
+        if (fo != null) {
+            return fo;
+        }
+        Project p = node.getLookup().lookup(Project.class);
+        return p != null ? p.getProjectDirectory() : null;
+    }
+}
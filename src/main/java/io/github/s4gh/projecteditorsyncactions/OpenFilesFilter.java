@@ -0,0 +1,343 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.awt.BorderLayout;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+import org.openide.explorer.ExplorerManager;
+import org.openide.explorer.ExplorerUtils;
+import org.openide.explorer.view.BeanTreeView;
+import org.openide.filesystems.FileObject;
+import org.openide.nodes.FilterNode;
+import org.openide.nodes.Node;
+import org.openide.util.RequestProcessor;
+import org.openide.windows.Mode;
+import org.openide.windows.TopComponent;
+import org.openide.windows.WindowManager;
+
+/**
+ * "Open files only" mode of the Projects and Files views. The roots of those views belong
+ * to the project UI, so they are left alone: the mode opens a window of this module beside
+ * the view, showing the view's root through a filter node layer that keeps just the open
+ * editor files and their ancestors.
+ * <p>
+ * The model counts, for every folder, how many open files lie below it; a node is shown
+ * while its file has a non-zero count. Opening or closing an editor walks the file's
+ * ancestors once and refreshes only the nodes whose count went from or to zero, through
+ * {@code refreshKey} on the filter children that hold them, so the rest of the filtered
+ * tree (and its expansion) is left alone. Nodes that stand for no file, such as
+ * "Libraries", are passed through collapsed: telling whether anything below them is open
+ * would mean computing their children, so they are filtered only once the user expands
+ * them. Counting is only done while at least one filtered window is open. EDT only,
+ * except for the children, which the Nodes API may compute on any thread.
+ */
+final class OpenFilesFilter {
+
+    private static final RequestProcessor RP = new RequestProcessor(OpenFilesFilter.class.getName(), 1, true);
+
+    private final Consumer<ViewKind> onClosed;
+    // View -> its filtered window, while open (EDT only)
+    private final Map<ViewKind, OpenFilesView> views = new HashMap<>();
+    // Open editor -> its file, to know what closed (EDT only)
+    private final Map<TopComponent, FileObject> editors = new WeakHashMap<>();
+    // Guarded by this: open editors per file, open files below each folder (the file itself included),
+    // and the filter children that created a node for a file, to refresh when it flips
+    private final Map<FileObject, Integer> openEditors = new HashMap<>();
+    private final Map<FileObject, Integer> openBelow = new HashMap<>();
+    private final Map<FileObject, Set<OpenFilesChildren>> holders = new HashMap<>();
+
+    /** {@code onClosed} is told when the filtered window of a view closes, whoever closes it. */
+    OpenFilesFilter(Consumer<ViewKind> onClosed) {
+        this.onClosed = onClosed;
+    }
+
+    /** Whether the filtered window of {@code kind} is open (EDT). */
+    boolean isShown(ViewKind kind) {
+        return views.containsKey(kind);
+    }
+
+    /**
+     * Opens or closes the filtered window of a view (EDT). It is docked in the view's mode and
+     * follows the view's root.
+     */
+    void setShown(ViewKind kind, TopComponent source, boolean on) {
+        assert SwingUtilities.isEventDispatchThread();
+        if (on == isShown(kind)) {
+            return;
+        }
+        if (!on) {
+            views.get(kind).close(); // componentClosed() unregisters it
+            return;
+        }
+        if (!(source instanceof ExplorerManager.Provider provider)) {
+            return;
+        }
+        if (views.isEmpty()) {
+            seed();
+        }
+        OpenFilesView view = new OpenFilesView(this, kind, provider.getExplorerManager(),
+                source.getDisplayName());
+        views.put(kind, view);
+        Mode mode = WindowManager.getDefault().findMode(source);
+        if (mode != null) {
+            mode.dockInto(view);
+        }
+        view.open();
+        view.requestActive();
+        view.expandAll();
+    }
+
+    /** Closes every filtered window (EDT). */
+    void dispose() {
+        for (OpenFilesView view : new ArrayList<>(views.values())) {
+            view.close();
+        }
+    }
+
+    private void closed(ViewKind kind, OpenFilesView view) {
+        if (!views.remove(kind, view)) {
+            return;
+        }
+        if (views.isEmpty()) {
+            clear();
+        }
+        onClosed.accept(kind);
+    }
+
+    /** Registry reported an opened TopComponent (EDT). */
+    void opened(TopComponent tc) {
+        if (views.isEmpty() || !ActiveEditorTracker.isEditorWindow(tc)) {
+            return;
+        }
+        FileObject fo = ActiveEditorTracker.fileOf(tc);
+        if (fo != null && editors.put(tc, fo) == null) {
+            refresh(adjust(fo, 1));
+        }
+    }
+
+    /** Registry reported a closed TopComponent (EDT). */
+    void closed(TopComponent tc) {
+        FileObject fo = editors.remove(tc);
+        if (fo != null) {
+            refresh(adjust(fo, -1));
+        }
+    }
+
+    private void seed() {
+        for (TopComponent tc : TopComponent.getRegistry().getOpened()) {
+            if (ActiveEditorTracker.isEditorWindow(tc)) {
+                FileObject fo = ActiveEditorTracker.fileOf(tc);
+                if (fo != null && editors.put(tc, fo) == null) {
+                    adjust(fo, 1); // no nodes yet, nothing to refresh
+                }
+            }
+        }
+    }
+
+    private synchronized void clear() {
+        editors.clear();
+        openEditors.clear();
+        openBelow.clear();
+        holders.clear();
+    }
+
+    /**
+     * Counts one more or one less editor of {@code fo}; when that is the file's first or last
+     * editor, updates the counts of its ancestors. Returns the files whose visibility flipped.
+     */
+    private synchronized List<FileObject> adjust(FileObject fo, int delta) {
+        int editorsOfFile = openEditors.merge(fo, delta, Integer::sum);
+        if (editorsOfFile <= 0) {
+            openEditors.remove(fo);
+        }
+        if (delta > 0 ? editorsOfFile != 1 : editorsOfFile != 0) {
+            return Collections.emptyList(); // another editor of the same file was already open
+        }
+        List<FileObject> flipped = new ArrayList<>();
+        for (FileObject f = fo; f != null; f = f.getParent()) {
+            int below = openBelow.merge(f, delta, Integer::sum);
+            if (below <= 0) {
+                openBelow.remove(f);
+            }
+            if (delta > 0 ? below == 1 : below <= 0) {
+                flipped.add(f);
+            }
+        }
+        return flipped;
+    }
+
+    /** Refreshes just the nodes of files that appeared or disappeared. */
+    private void refresh(List<FileObject> flipped) {
+        for (FileObject f : flipped) {
+            OpenFilesChildren[] children;
+            synchronized (this) {
+                Set<OpenFilesChildren> set = holders.get(f);
+                if (set == null) {
+                    continue;
+                }
+                if (set.isEmpty()) {
+                    holders.remove(f); // every holder was collected
+                    continue;
+                }
+                children = set.toArray(OpenFilesChildren[]::new);
+            }
+            for (OpenFilesChildren c : children) {
+                c.refreshFile(f);
+            }
+        }
+    }
+
+    /** Whether an open file lies in or below {@code fo}. */
+    private synchronized boolean hasOpenBelow(FileObject fo) {
+        return openBelow.containsKey(fo);
+    }
+
+    /** Whether a node of {@code fo} is shown; remembers {@code holder} to refresh it when that changes. */
+    private synchronized boolean shows(FileObject fo, OpenFilesChildren holder) {
+        holders.computeIfAbsent(fo, f -> Collections.newSetFromMap(new WeakHashMap<>())).add(holder);
+        return openBelow.containsKey(fo);
+    }
+
+    /**
+     * The filtered window: a tree over the source view's root, which it follows, with the
+     * selection's actions in its lookup like any explorer view.
+     */
+    @SuppressWarnings("serial") // PERSISTENCE_NEVER, never externalized: no public no-arg constructor needed
+    private static final class OpenFilesView extends TopComponent implements ExplorerManager.Provider {
+        private static final long serialVersionUID = 1L;
+
+        // never serialized: the window is PERSISTENCE_NEVER
+        private final transient OpenFilesFilter filter;
+        private final transient ViewKind kind;
+        private final transient ExplorerManager source;
+        private final ExplorerManager em = new ExplorerManager();
+        private final BeanTreeView tree = new BeanTreeView();
+        private final transient PropertyChangeListener rootChanged = this::sourceChanged;
+
+        OpenFilesView(OpenFilesFilter filter, ViewKind kind, ExplorerManager source, String sourceName) {
+            this.filter = filter;
+            this.kind = kind;
+            this.source = source;
+            setName("OpenFiles." + kind.name());
+            setDisplayName("Open Files (" + sourceName + ")");
+            setLayout(new BorderLayout());
+            tree.setRootVisible(false);
+            add(tree, BorderLayout.CENTER);
+            associateLookup(ExplorerUtils.createLookup(em, getActionMap()));
+            em.setRootContext(new OpenFilesNode(source.getRootContext(), filter));
+            source.addPropertyChangeListener(rootChanged);
+        }
+
+        @Override
+        public ExplorerManager getExplorerManager() {
+            return em;
+        }
+
+        @Override
+        public int getPersistenceType() {
+            return PERSISTENCE_NEVER; // the source view is what persists
+        }
+
+        @Override
+        protected void componentActivated() {
+            ExplorerUtils.activateActions(em, true);
+        }
+
+        @Override
+        protected void componentDeactivated() {
+            ExplorerUtils.activateActions(em, false);
+        }
+
+        @Override
+        protected void componentClosed() {
+            source.removePropertyChangeListener(rootChanged);
+            filter.closed(kind, this);
+        }
+
+        private void sourceChanged(PropertyChangeEvent evt) {
+            if (ExplorerManager.PROP_ROOT_CONTEXT.equals(evt.getPropertyName())) {
+                em.setRootContext(new OpenFilesNode(source.getRootContext(), filter));
+                expandAll();
+            }
+        }
+
+        /**
+         * Expands the folders holding open files, down to the files: their children are computed in
+         * the background, the nodes expanded on the EDT. Nodes that stand for no file, such as
+         * Libraries, are left collapsed, so their contents are never computed here.
+         */
+        void expandAll() {
+            Node root = em.getRootContext();
+            RP.post(() -> {
+                List<Node> folders = new ArrayList<>();
+                collectFolders(root, folders);
+                EdtWatchdog.invokeLater("openFilesExpand", () -> {
+                    if (em.getRootContext() == root) {
+                        for (Node n : folders) {
+                            tree.expandNode(n);
+                        }
+                    }
+                });
+            });
+        }
+
+        private void collectFolders(Node parent, List<Node> out) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            for (Node child : parent.getChildren().getNodes(true)) {
+                FileObject fo = NodeLocator.fileOf(child);
+                if (!child.isLeaf() && fo != null && fo.isFolder() && filter.hasOpenBelow(fo)) {
+                    out.add(child);
+                    collectFolders(child, out);
+                }
+            }
+        }
+    }
+
+    private static final class OpenFilesNode extends FilterNode {
+        OpenFilesNode(Node original, OpenFilesFilter filter) {
+            super(original, original.isLeaf() ? Children.LEAF : new OpenFilesChildren(original, filter));
+        }
+    }
+
+    private static final class OpenFilesChildren extends FilterNode.Children {
+        private final OpenFilesFilter filter;
+
+        OpenFilesChildren(Node original, OpenFilesFilter filter) {
+            super(original);
+            this.filter = filter;
+        }
+
+        @Override
+        protected Node[] createNodes(Node key) {
+            FileObject fo = NodeLocator.fileOf(key);
+            if (fo != null && !filter.shows(fo, this)) {
+                return new Node[0];
+            }
+            return new Node[] {copyNode(key)};
+        }
+
+        @Override
+        protected Node copyNode(Node node) {
+            return new OpenFilesNode(node, filter);
+        }
+
+        /** Recreates the node for {@code fo}, if this layer has one among its keys. */
+        void refreshFile(FileObject fo) {
+            for (Node key : original.getChildren().getNodes()) {
+                if (fo.equals(NodeLocator.fileOf(key))) {
+                    refreshKey(key);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
+import org.netbeans.api.project.Project;
+import org.openide.explorer.ExplorerManager;
+import org.openide.filesystems.FileObject;
+import org.openide.nodes.Node;
+import org.openide.util.NbPreferences;
+import org.openide.util.RequestProcessor;
+import org.openide.windows.TopComponent;
+
+/**
+ * Optional warm-up of the Projects/Files node paths of recently activated editors.
+ * <p>
+ * A Sync usually follows an editor switch, and most of its latency in deep package
+ * hierarchies is child Node computation. Shortly after an editor is activated, the
+ * node paths of the active file and the few most recent editors are resolved on a
+ * low-priority background thread, the same way a Sync locates them
+ * ({@link ProjectOwners#locate}), so the warmed children are the ones the reveal walks.
+ * The resolved paths are kept, softly, in a small LRU so the computed children stay
+ * alive until the reveal. The warm-up gives up, and drops what it holds, as soon as
+ * the heap gets tight.
+ */
+final class PathWarmer {
+
+    private static final Logger LOG = Logger.getLogger(PathWarmer.class.getName());
+
+    /** Recent editors warmed besides the active one. */
+    static final int RECENT_EDITORS = 4;
+    /** Upper bound of warmed (file, view) paths held at once. */
+    static final int MAX_WARMED = 32;
+    /** Typing pause before warming starts; a new activation restarts it. */
+    private static final int DELAY_MS = 400;
+    /** Minimum free share of the max heap; below it the warm-up backs off. */
+    private static final double MIN_FREE_HEAP = 0.15;
+
+    private static final String PREF_WARM_UP = "warmUp";
+
+    private static final RequestProcessor RP = new RequestProcessor(PathWarmer.class.getName(), 1, true);
+
+    private record Key(ViewKind kind, FileObject file) {
+    }
+
+    private final ActiveEditorTracker editors;
+    private final ProjectOwners owners;
+    private final RequestProcessor.Task task = RP.create(this::warm);
+    // Views that have our header, i.e. where a Sync can be pressed (EDT writes)
+    private final Map<ViewKind, WeakReference<TopComponent>> views = new HashMap<>();
+    // Snapshot handed from the EDT to the warm-up thread
+    private volatile Map<ViewKind, Node> roots = Map.of();
+    private volatile FileObject[] files = new FileObject[0];
+
+    private final Map<Key, SoftReference<Node[]>> warmed = new LinkedHashMap<>(MAX_WARMED, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, SoftReference<Node[]>> eldest) {
+            return size() > MAX_WARMED;
+        }
+    };
+
+    PathWarmer(ActiveEditorTracker editors, ProjectOwners owners) {
+        this.editors = editors;
+        this.owners = owners;
+        task.setPriority(Thread.MIN_PRIORITY);
+    }
+
+    static boolean isEnabled() {
+        return NbPreferences.forModule(Installer.class).getBoolean(PREF_WARM_UP, true);
+    }
+
+    /** Header installed on a Projects or Files view (EDT only). */
+    void viewInstalled(ViewKind kind, TopComponent tc) {
+        if (kind.isProjects()) {
+            views.put(kind, new WeakReference<>(tc));
+        }
+    }
+
+    /** A Projects or Files view was closed; its root is no longer warmed (EDT only). */
+    void viewClosed(ViewKind kind) {
+        if (views.remove(kind) != null && views.isEmpty()) {
+            task.cancel();
+            roots = Map.of();
+        }
+    }
+
+    /** An editor became active: (re)start the warm-up after a short pause (EDT only). */
+    void editorActivated() {
+        assert SwingUtilities.isEventDispatchThread();
+        if (views.isEmpty() || !isEnabled()) {
+            return;
+        }
+        Map<ViewKind, Node> r = new HashMap<>();
+        views.forEach((kind, ref) -> {
+            TopComponent tc = ref.get();
+            if (tc != null && tc.isOpened() && tc instanceof ExplorerManager.Provider p) {
+                Node root = p.getExplorerManager().getRootContext();
+                if (root != null) {
+                    r.put(kind, root);
+                }
+            }
+        });
+        if (r.isEmpty()) {
+            return;
+        }
+        TopComponent[] recent = new TopComponent[RECENT_EDITORS + 1];
+        int n = editors.recentEditors(recent);
+        List<FileObject> fos = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            FileObject fo = ActiveEditorTracker.fileOf(recent[i]);
+            if (fo != null) {
+                fos.add(fo);
+            }
+        }
+        roots = r;
+        files = fos.toArray(FileObject[]::new);
+        task.cancel(); // stale warm-up for the previous editor
+        task.schedule(DELAY_MS);
+    }
+
+    void dispose() {
+        task.cancel();
+        views.clear();
+        roots = Map.of();
+        files = new FileObject[0];
+        synchronized (warmed) {
+            warmed.clear();
+        }
+    }
+
+    private void warm() {
+        Map<ViewKind, Node> r = roots;
+        int done = 0;
+        long start = System.nanoTime();
+        for (FileObject fo : files) {
+            Project owner = owners.owner(fo);
+            for (Map.Entry<ViewKind, Node> e : r.entrySet()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                if (heapIsTight()) {
+                    synchronized (warmed) {
+                        warmed.clear(); // let the computed nodes go, the IDE needs the memory more
+                    }
+                    LOG.log(Level.FINE, "Warm-up abandoned: low memory");
+                    return;
+                }
+                Key key = new Key(e.getKey(), fo);
+                synchronized (warmed) {
+                    SoftReference<Node[]> ref = warmed.get(key);
+                    if (ref != null && ref.get() != null) {
+                        continue; // still warm
+                    }
+                }
+                Node[] path = ProjectOwners.locate(e.getKey(), e.getValue(), fo, owner);
+                if (path != null) {
+                    synchronized (warmed) {
+                        warmed.put(key, new SoftReference<>(path));
+                    }
+                    done++;
+                }
+            }
+        }
+        LOG.log(Level.FINE, "Warmed {0} node paths in {1} ms",
+                new Object[] {done, (System.nanoTime() - start) / 1_000_000L});
+    }
+
+    private static boolean heapIsTight() {
+        Runtime rt = Runtime.getRuntime();
+        long max = rt.maxMemory();
+        long used = rt.totalMemory() - rt.freeMemory();
+        return max - used < (long) (max * MIN_FREE_HEAP);
+    }
+}
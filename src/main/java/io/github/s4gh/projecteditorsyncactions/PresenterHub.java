@@ -0,0 +1,197 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import javax.swing.AbstractButton;
+import javax.swing.Action;
+import javax.swing.Icon;
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import org.openide.util.ImageUtilities;
+import org.openide.util.WeakListeners;
+
+/**
+ * Editor toolbar buttons that mirror a built-in action through one shared listener.
+ * <p>
+ * {@code Actions.connect} adds a listener per button to the built-in action, so every
+ * editor tab ever opened leaves one behind until its toolbar is collected, and each
+ * enablement change fans out to all of them. Here each action has a single hub that
+ * listens to it (through a weak wrapper, so the action does not pin the hub) and holds
+ * its buttons weakly. A change recomputes the button state once and pushes it only to
+ * buttons that are showing; a hidden button catches up when it is shown. Buttons share
+ * the hub's action and hierarchy listeners, so a presenter is a plain {@code JButton}
+ * plus two client properties. EDT only, except for {@link #dispose()}.
+ */
+final class PresenterHub {
+
+    // Client properties on presenter buttons
+    private static final String CP_HUB = "s4gh.presenter.hub";
+    private static final String CP_VERSION = "s4gh.presenter.version";
+
+    private static final Map<String, PresenterHub> HUBS = new ConcurrentHashMap<>();
+
+    // Shared by all presenters of all hubs
+    private static final ActionListener INVOKE = e -> hubOf(e.getSource()).perform(e);
+    private static final HierarchyListener SHOWN = e -> {
+        if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && e.getComponent().isShowing()) {
+            AbstractButton b = (AbstractButton) e.getComponent();
+            hubOf(b).refresh(b);
+        }
+    };
+
+    /** What a presenter shows; computed once per change of the action. */
+    private record State(Icon icon, String text, String toolTip, boolean enabled) {
+    }
+
+    private final String displayName;
+    private final Supplier<Action> resolver;
+    private final Set<AbstractButton> buttons = Collections.newSetFromMap(new WeakHashMap<>());
+    private final PropertyChangeListener onChange = this::actionChanged;
+    private Action bound;
+    private PropertyChangeListener boundWeak;
+    private State state;
+    private int version;
+
+    /** For harnesses running without the layer: the action is supplied. */
+    PresenterHub(String displayName, Supplier<Action> resolver) {
+        this.displayName = displayName;
+        this.resolver = resolver;
+    }
+
+    /** Hub for {@code Actions/Window/SelectDocumentNode/<id>}; {@code displayName} is shown if it is missing. */
+    static PresenterHub of(String id, String displayName) {
+        return HUBS.computeIfAbsent(id, k -> new PresenterHub(displayName,
+                () -> ActionResolver.find(ActionResolver.SELECT_DOCUMENT_NODE, k)));
+    }
+
+    /** Stops listening to every built-in action (module uninstall). */
+    static void dispose() {
+        for (PresenterHub hub : HUBS.values()) {
+            if (SwingUtilities.isEventDispatchThread()) {
+                hub.unbind();
+            } else {
+                SwingUtilities.invokeLater(hub::unbind);
+            }
+        }
+        HUBS.clear();
+    }
+
+    /** New toolbar button for one editor; cheap, adds no listener to the action. */
+    JButton presenter() {
+        assert SwingUtilities.isEventDispatchThread();
+        action(); // (re)binds if the module providing the action changed
+        JButton b = new JButton();
+        b.putClientProperty(CP_HUB, this);
+        b.addActionListener(INVOKE);
+        b.addHierarchyListener(SHOWN);
+        buttons.add(b);
+        apply(b);
+        return b;
+    }
+
+    /** Live presenters; collected ones drop out. */
+    int presenterCount() {
+        return buttons.size();
+    }
+
+    private static PresenterHub hubOf(Object button) {
+        return (PresenterHub) ((JComponent) button).getClientProperty(CP_HUB);
+    }
+
+    private Action action() {
+        Action a = resolver.get();
+        if (a != bound) {
+            unbind();
+            if (a != null) {
+                boundWeak = WeakListeners.propertyChange(onChange, a);
+                a.addPropertyChangeListener(boundWeak);
+            }
+            bound = a;
+            changed();
+        }
+        return a;
+    }
+
+    private void unbind() {
+        if (bound != null && boundWeak != null) {
+            bound.removePropertyChangeListener(boundWeak);
+        }
+        bound = null;
+        boundWeak = null;
+    }
+
+    private void perform(ActionEvent e) {
+        Action a = action();
+        if (a != null && a.isEnabled()) {
+            a.actionPerformed(e);
+        }
+    }
+
+    private void actionChanged(PropertyChangeEvent evt) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            changed();
+        } else {
+            SwingUtilities.invokeLater(this::changed);
+        }
+    }
+
+    /** Invalidates the state and updates the showing presenters only. */
+    private void changed() {
+        state = null;
+        version++;
+        for (AbstractButton b : buttons.toArray(AbstractButton[]::new)) {
+            if (b.isShowing()) {
+                apply(b);
+            }
+        }
+    }
+
+    private void refresh(AbstractButton b) {
+        if (!Integer.valueOf(version).equals(b.getClientProperty(CP_VERSION))) {
+            apply(b);
+        }
+    }
+
+    private void apply(AbstractButton b) {
+        State s = state();
+        b.setIcon(s.icon());
+        b.setText(s.text());
+        b.setToolTipText(s.toolTip());
+        b.setEnabled(s.enabled());
+        b.putClientProperty(CP_VERSION, version);
+    }
+
+    private State state() {
+        State s = state;
+        if (s == null) {
+            s = state = compute(bound);
+        }
+        return s;
+    }
+
+    /** What {@code Actions.connect} would show on a toolbar button: the icon, else the name. */
+    private State compute(Action a) {
+        if (a == null) {
+            return new State(null, displayName, displayName, true);
+        }
+        Object name = a.getValue(Action.NAME);
+        String text = name instanceof String n ? n.replace("&", "") : displayName;
+        Object tip = a.getValue(Action.SHORT_DESCRIPTION);
+        Icon icon = a.getValue(Action.SMALL_ICON) instanceof Icon i ? i : null;
+        if (icon == null && a.getValue("iconBase") instanceof String base) {
+            icon = ImageUtilities.loadImageIcon(base, true);
+        }
+        return new State(icon, icon != null ? null : text, tip instanceof String t ? t : text, a.isEnabled());
+    }
+}
@@ -0,0 +1,201 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.netbeans.api.project.FileOwnerQuery;
+import org.netbeans.api.project.Project;
+import org.netbeans.api.project.ui.OpenProjects;
+import org.netbeans.spi.project.ui.LogicalViewProvider;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileStateInvalidException;
+import org.openide.filesystems.FileSystem;
+import org.openide.nodes.Node;
+
+/**
+ * Which open project owns a file, answered from a trie of project directories.
+ * <p>
+ * The trie is keyed by path segments below each filesystem root; a node carries the
+ * project whose directory ends there, so the owner of a file is the last project seen
+ * while walking its path (nested projects win over their parents). It is rebuilt lazily
+ * after {@link #invalidate()}, which the {@code OpenProjects} listener in {@link Installer}
+ * calls whenever projects open or close. The trie only knows files under a project
+ * directory; a file it misses, e.g. in an external source root, is asked of
+ * {@link FileOwnerQuery}, and the answer counts if that project is open.
+ */
+final class ProjectOwners {
+
+    private static final class Trie {
+        final Map<String, Trie> children = new HashMap<>(4);
+        Project project;
+    }
+
+    private final Supplier<Project[]> projects;
+    private final AtomicInteger generation = new AtomicInteger();
+    private record Index(Map<FileSystem, Trie> roots, Set<Project> open) {
+    }
+
+    private volatile Index index; // null when stale
+
+    ProjectOwners() {
+        this(() -> OpenProjects.getDefault().getOpenProjects());
+    }
+
+    /** For harnesses running without the project system: the open projects are supplied. */
+    ProjectOwners(Supplier<Project[]> projects) {
+        this.projects = projects;
+    }
+
+    /** Projects opened or closed; the next lookup rebuilds the trie. Any thread. */
+    void invalidate() {
+        generation.incrementAndGet();
+        index = null;
+    }
+
+    /**
+     * Open project whose directory is the closest ancestor of {@code fo}, otherwise the open
+     * project {@link FileOwnerQuery} names, or {@code null}. Background thread only: the
+     * fallback query may read project metadata.
+     */
+    Project owner(FileObject fo) {
+        if (fo == null) {
+            return null;
+        }
+        Index idx = index;
+        if (idx == null) {
+            int gen = generation.get();
+            idx = build();
+            if (generation.get() == gen) {
+                index = idx; // not superseded by an invalidate() during the build
+            }
+        }
+        Project owner = fromTrie(idx.roots(), fo);
+        if (owner != null) {
+            return owner;
+        }
+        Project queried = FileOwnerQuery.getOwner(fo);
+        return queried != null && idx.open().contains(queried) ? queried : null;
+    }
+
+    private static Project fromTrie(Map<FileSystem, Trie> roots, FileObject fo) {
+        Trie node;
+        try {
+            node = roots.get(fo.getFileSystem());
+        } catch (FileStateInvalidException ex) {
+            return null;
+        }
+        if (node == null) {
+            return null;
+        }
+        Project owner = node.project;
+        String path = fo.getPath();
+        int start = 0;
+        while (start < path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            node = node.children.get(path.substring(start, end));
+            if (node == null) {
+                break;
+            }
+            if (node.project != null) {
+                owner = node.project;
+            }
+            start = end + 1;
+        }
+        return owner;
+    }
+
+    private Index build() {
+        Map<FileSystem, Trie> r = new HashMap<>();
+        Project[] open = projects.get();
+        for (Project p : open) {
+            FileObject dir = p.getProjectDirectory();
+            if (dir == null) {
+                continue;
+            }
+            Trie node;
+            try {
+                node = r.computeIfAbsent(dir.getFileSystem(), fs -> new Trie());
+            } catch (FileStateInvalidException ex) {
+                continue;
+            }
+            String path = dir.getPath();
+            if (!path.isEmpty()) {
+                for (String segment : path.split("/")) {
+                    node = node.children.computeIfAbsent(segment, s -> new Trie());
+                }
+            }
+            node.project = p;
+        }
+        return new Index(r, new HashSet<>(Arrays.asList(open)));
+    }
+
+    /**
+     * Node path from (excluding) {@code root} to the node of {@code fo} in a view, searching
+     * only below the owner's project node; {@code null} when the view does not show the file.
+     * In the Projects view the owner's {@link LogicalViewProvider} finds the node directly.
+     * Background thread only.
+     */
+    static Node[] locate(ViewKind kind, Node root, FileObject fo, Project owner) {
+        if (!kind.isProjects()) {
+            return NodeLocator.findPath(root, fo);
+        }
+        if (owner == null) {
+            return null;
+        }
+        Node projectNode = projectNode(root, owner);
+        if (projectNode == null) {
+            return null;
+        }
+        if (kind == ViewKind.LOGICAL) {
+            LogicalViewProvider lvp = owner.getLookup().lookup(LogicalViewProvider.class);
+            Node target = lvp != null ? lvp.findPath(projectNode, fo) : null;
+            Node[] path = target != null ? pathBetween(projectNode, target) : null;
+            if (path != null) {
+                return path;
+            }
+        }
+        Node[] below = NodeLocator.findPath(projectNode, fo);
+        if (below == null) {
+            return null;
+        }
+        Node[] path = new Node[below.length + 1];
+        path[0] = projectNode;
+        System.arraycopy(below, 0, path, 1, below.length);
+        return path;
+    }
+
+    private static Node projectNode(Node root, Project owner) {
+        FileObject dir = owner.getProjectDirectory();
+        for (Node child : root.getChildren().getNodes(true)) {
+            Project p = child.getLookup().lookup(Project.class);
+            if (owner.equals(p) || (p == null && dir != null && dir.equals(NodeLocator.fileOf(child)))) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    /** {@code [projectNode, ..., target]} following parent links, or {@code null} if unrelated. */
+    private static Node[] pathBetween(Node projectNode, Node target) {
+        int depth = 0;
+        for (Node n = target; n != null; n = n.getParentNode()) {
+            depth++;
+            if (n == projectNode) {
+                Node[] path = new Node[depth];
+                Node m = target;
+                for (int i = depth - 1; i >= 0; i--, m = m.getParentNode()) {
+                    path[i] = m;
+                }
+                return path;
+            }
+        }
+        return null;
+    }
+}
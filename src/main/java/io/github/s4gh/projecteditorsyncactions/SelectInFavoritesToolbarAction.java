@@ -4,12 +4,10 @@ import java.awt.Component;
 import java.awt.event.ActionEvent;
 import javax.swing.AbstractAction;
 import javax.swing.Action;
-import javax.swing.JButton;
 
 import org.openide.awt.ActionID;
 import org.openide.awt.ActionReference;
 import org.openide.awt.ActionRegistration;
-import org.openide.awt.Actions;
 import org.openide.util.NbBundle.Messages;
 import org.openide.util.actions.Presenter;
 
@@ -28,12 +26,9 @@ import org.openide.util.actions.Presenter;
 @Messages("CTL_SelectInFavoritesToolbarAction=Select in Favorites")
 public final class SelectInFavoritesToolbarAction extends AbstractAction implements Presenter.Toolbar {
 
-    private static final String CATEGORY = "Window/SelectDocumentNode";
-    private static final String BUILT_IN_ID = "org.netbeans.modules.favorites.Select"; // Ctrl+Shift+3
-
     public SelectInFavoritesToolbarAction() {
         putValue(NAME, Bundle.CTL_SelectInFavoritesToolbarAction());
-        Action builtIn = Actions.forID(CATEGORY, BUILT_IN_ID);
+        Action builtIn = ActionResolver.find(ActionResolver.SELECT_DOCUMENT_NODE, ActionResolver.SELECT_IN_FAVORITES);
         if (builtIn != null) {
             Object tip = builtIn.getValue(Action.SHORT_DESCRIPTION);
             if (tip instanceof String) {
@@ -44,7 +39,7 @@ public final class SelectInFavoritesToolbarAction extends AbstractAction impleme
 
     @Override
     public void actionPerformed(ActionEvent e) {
-        Action builtIn = Actions.forID(CATEGORY, BUILT_IN_ID);
+        Action builtIn = ActionResolver.find(ActionResolver.SELECT_DOCUMENT_NODE, ActionResolver.SELECT_IN_FAVORITES);
         if (builtIn != null && builtIn.isEnabled()) {
             builtIn.actionPerformed(e);
         }
@@ -52,20 +47,7 @@ public final class SelectInFavoritesToolbarAction extends AbstractAction impleme
 
     @Override
     public Component getToolbarPresenter() {
-        Action builtIn = Actions.forID(CATEGORY, BUILT_IN_ID);
-        JButton btn = new JButton();
-        if (builtIn != null) {
-            // Inherit enablement, icon, tooltip, etc. from the built-in action
-            Actions.connect(btn, builtIn);
-        } else {
-            // Fallback (e.g., if Favorites module is disabled)
-            btn.setText(Bundle.CTL_SelectInFavoritesToolbarAction());
-            Object tip = getValue(SHORT_DESCRIPTION);
-            if (tip instanceof String) {
-                btn.setToolTipText((String) tip);
-            }
-            btn.addActionListener(this);
-        }
-        return btn;
+        // One per editor tab: a flyweight button fed by the hub's single listener on the built-in action
+        return PresenterHub.of(ActionResolver.SELECT_IN_FAVORITES, Bundle.CTL_SelectInFavoritesToolbarAction()).presenter();
     }
-}
\ No newline at end of file
+}
@@ -4,12 +4,10 @@ import java.awt.Component;
 import java.awt.event.ActionEvent;
 import javax.swing.AbstractAction;
 import javax.swing.Action;
-import javax.swing.JButton;
 
 import org.openide.awt.ActionID;
 import org.openide.awt.ActionReference;
 import org.openide.awt.ActionRegistration;
-import org.openide.awt.Actions;
 import org.openide.util.NbBundle.Messages;
 import org.openide.util.actions.Presenter;
 
@@ -32,10 +30,7 @@ public final class SelectInFilesToolbarAction extends AbstractAction implements
 
     public SelectInFilesToolbarAction() {
         putValue(NAME, Bundle.CTL_SelectInFilesToolbarAction());
-        Action builtIn = Actions.forID(
-            "Window/SelectDocumentNode",
-            "org.netbeans.modules.project.ui.SelectInFiles"
-        );
+        Action builtIn = ActionResolver.find(ActionResolver.SELECT_DOCUMENT_NODE, ActionResolver.SELECT_IN_FILES);
         if (builtIn != null) {
             Object tip = builtIn.getValue(Action.SHORT_DESCRIPTION);
             if (tip instanceof String) putValue(SHORT_DESCRIPTION, tip);
@@ -44,31 +39,13 @@ public final class SelectInFilesToolbarAction extends AbstractAction implements
 
     @Override
     public void actionPerformed(ActionEvent e) {
-        Action builtIn = Actions.forID(
-            "Window/SelectDocumentNode",
-            "org.netbeans.modules.project.ui.SelectInFiles"
-        );
+        Action builtIn = ActionResolver.find(ActionResolver.SELECT_DOCUMENT_NODE, ActionResolver.SELECT_IN_FILES);
         if (builtIn != null && builtIn.isEnabled()) builtIn.actionPerformed(e);
     }
 
     @Override
     public Component getToolbarPresenter() {
-        Action builtIn = Actions.forID(
-            "Window/SelectDocumentNode",
-            "org.netbeans.modules.project.ui.SelectInFiles"
-        );
-        JButton btn = new JButton();
-        if (builtIn != null) {
-            // Inherit enablement + tooltip from built-in action
-            Actions.connect(btn, builtIn);
-        } else {
-            btn.setText(Bundle.CTL_SelectInFilesToolbarAction());
-            Object tip = getValue(SHORT_DESCRIPTION);
-            if (tip instanceof String) {
-                btn.setToolTipText((String) tip);
-            }
-            btn.addActionListener(this);
-        }
-        return btn;
+        // One per editor tab: a flyweight button fed by the hub's single listener on the built-in action
+        return PresenterHub.of(ActionResolver.SELECT_IN_FILES, Bundle.CTL_SelectInFilesToolbarAction()).presenter();
     }
-}
\ No newline at end of file
+}
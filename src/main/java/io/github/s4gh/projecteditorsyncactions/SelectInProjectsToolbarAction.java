@@ -4,12 +4,10 @@ import java.awt.Component;
 import java.awt.event.ActionEvent;
 import javax.swing.AbstractAction;
 import javax.swing.Action;
-import javax.swing.JButton;
 
 import org.openide.awt.ActionID;
 import org.openide.awt.ActionReference;
 import org.openide.awt.ActionRegistration;
-import org.openide.awt.Actions;
 import org.openide.util.NbBundle.Messages;
 import org.openide.util.actions.Presenter;   // ← Presenter lives here
 
@@ -30,10 +28,7 @@ public final class SelectInProjectsToolbarAction extends AbstractAction implemen
         putValue(NAME, Bundle.CTL_SelectInProjectsToolbarAction());
 
         // Reuse tooltip from the built-in "Select in Projects" action (Ctrl+Shift+1)
-        Action builtIn = Actions.forID(
-            "Window/SelectDocumentNode",
-            "org.netbeans.modules.project.ui.SelectInProjects"
-        );
+        Action builtIn = ActionResolver.find(ActionResolver.SELECT_DOCUMENT_NODE, ActionResolver.SELECT_IN_PROJECTS);
         if (builtIn != null) {
             Object tip = builtIn.getValue(Action.SHORT_DESCRIPTION);
             if (tip instanceof String) {
@@ -44,10 +39,7 @@ public final class SelectInProjectsToolbarAction extends AbstractAction implemen
 
     @Override
     public void actionPerformed(ActionEvent e) {
-        Action builtIn = Actions.forID(
-            "Window/SelectDocumentNode",
-            "org.netbeans.modules.project.ui.SelectInProjects"
-        );
+        Action builtIn = ActionResolver.find(ActionResolver.SELECT_DOCUMENT_NODE, ActionResolver.SELECT_IN_PROJECTS);
         if (builtIn != null && builtIn.isEnabled()) {
             builtIn.actionPerformed(e);
         }
@@ -55,25 +47,7 @@ public final class SelectInProjectsToolbarAction extends AbstractAction implemen
 
     @Override
     public Component getToolbarPresenter() {
-        // Build a toolbar button that *inherits* enablement & tooltip from the built-in action
-        Action builtIn = Actions.forID(
-            "Window/SelectDocumentNode",
-            "org.netbeans.modules.project.ui.SelectInProjects"
-        );
-
-        JButton btn = new JButton();
-        if (builtIn != null) {
-            // Connect: copies Action properties (including SHORT_DESCRIPTION = tooltip)
-            Actions.connect(btn, builtIn);  // from org.openide.awt.Actions
-        } else {
-            // Fallback if built-in action is unavailable
-            btn.setText(Bundle.CTL_SelectInProjectsToolbarAction());
-            Object tip = getValue(SHORT_DESCRIPTION);
-            if (tip instanceof String) {
-                btn.setToolTipText((String) tip);
-            }
-            btn.addActionListener(this);
-        }
-        return btn;
-        }
+        // One per editor tab: a flyweight button fed by the hub's single listener on the built-in action
+        return PresenterHub.of(ActionResolver.SELECT_IN_PROJECTS, Bundle.CTL_SelectInProjectsToolbarAction()).presenter();
+    }
 }
@@ -0,0 +1,35 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+import org.openide.awt.ActionID;
+import org.openide.awt.ActionReference;
+import org.openide.awt.ActionRegistration;
+import org.openide.util.NbBundle.Messages;
+
+/**
+ * Reveals the active editor file in Projects, Files and Favorites at once: the file's
+ * node path in every showing view is located in a single background stage, and the
+ * views are synced in one EDT pass.
+ */
+@ActionID(
+    category = "Editor",
+    id = "io.github.s4gh.navigator.SyncAllViewsAction"
+)
+@ActionRegistration(
+    displayName = "#CTL_SyncAllViewsAction",
+    iconBase = "icons/syncWithCodeEditor.svg"
+)
+@ActionReference(
+    path = "Editors/Toolbars/Default",
+    position = 1517
+)
+@Messages("CTL_SyncAllViewsAction=Sync All Views with Code Editor")
+public final class SyncAllViewsAction implements ActionListener {
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        Installer.syncAllViews();
+    }
+}
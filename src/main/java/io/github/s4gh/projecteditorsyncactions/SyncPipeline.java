@@ -0,0 +1,205 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+import org.netbeans.api.project.Project;
+import org.openide.filesystems.FileObject;
+import org.openide.loaders.DataObject;
+import org.openide.loaders.DataObjectNotFoundException;
+import org.openide.nodes.Node;
+import org.openide.util.RequestProcessor;
+
+/**
+ * Staged sync: the caller picks the file on the EDT (the active editor file is an O(1)
+ * read of the {@link ActiveEditorTracker} index, and it needs the window system, which
+ * is EDT-only); its owning project, DataObject, Node and node path are resolved on a
+ * background thread, and only the final reveal hops back to the EDT.
+ * <p>
+ * Requests are latest-wins: submitting a new one cancels a superseded request that is
+ * still resolving, and a superseded result never reaches the EDT stage.
+ */
+final class SyncPipeline {
+
+    /**
+     * What the background stages resolved; {@code dataObject}/{@code node} only when requested,
+     * {@code viewPath} only when a view root to locate the file under was given. {@code owner}
+     * is the open project owning the file, {@code null} when there is none.
+     */
+    record Resolved(FileObject file, Project owner, DataObject dataObject, Node node, Node[] viewPath,
+            Phases phases) {
+    }
+
+    /** Background stage durations in nanoseconds, reported through {@link JfrEvents.Sync}. */
+    record Phases(long ownerLookup, long dataObjectLookup, long nodeLocation) {
+    }
+
+    /** A view to locate the file in, for {@link #submitViews}: its kind and its explorer root. */
+    record Target(ViewKind view, Node root) {
+    }
+
+    // Single throughput keeps requests ordered; interruptible so cancel() stops a slow DataObject.find
+    private static final RequestProcessor RP = new RequestProcessor(SyncPipeline.class.getName(), 1, true);
+
+    private final ProjectOwners owners;
+    private volatile long generation;
+    private volatile RequestProcessor.Task inFlight;
+
+    SyncPipeline(ProjectOwners owners) {
+        this.owners = owners;
+    }
+
+    /**
+     * Starts a new request and supersedes any previous one (EDT only). Unless
+     * {@code locateUnder} is {@code null}, the background stage also locates the file's node
+     * path below it, the root of a {@code view} (see {@link ProjectOwners#locate}).
+     *
+     * @param file        the file to reveal; {@code null} makes this a no-op that still supersedes
+     * @param resolveNode whether the DataObject and Node stages are needed (Favorites)
+     * @param edtStage    final step, run on the EDT only if this request is still current
+     */
+    void submit(FileObject file, boolean resolveNode, ViewKind view, Node locateUnder,
+            Consumer<Resolved> edtStage) {
+        assert SwingUtilities.isEventDispatchThread();
+        long gen = ++generation;
+        RequestProcessor.Task previous = inFlight;
+        if (previous != null) {
+            previous.cancel();
+        }
+        if (file == null) {
+            inFlight = null;
+            return;
+        }
+        inFlight = RP.post(() -> {
+            Resolved resolved = resolve(gen, file, resolveNode, view, locateUnder);
+            if (resolved == null) {
+                return;
+            }
+            EdtWatchdog.invokeLater("reveal", () -> {
+                if (gen == generation) {
+                    edtStage.accept(resolved);
+                }
+            });
+        });
+    }
+
+    /**
+     * Locates one file in several views in one request, superseding any previous one like
+     * {@link #submit} (EDT only). The owner is looked up once; the EDT stage gets one
+     * {@link Resolved} per target, in the order of {@code targets}, each with the node path
+     * in that view ({@code null} where the view does not show the file).
+     */
+    void submitViews(FileObject file, List<Target> targets, Consumer<List<Resolved>> edtStage) {
+        assert SwingUtilities.isEventDispatchThread();
+        long gen = ++generation;
+        RequestProcessor.Task previous = inFlight;
+        if (previous != null) {
+            previous.cancel();
+        }
+        if (file == null || targets.isEmpty()) {
+            inFlight = null;
+            return;
+        }
+        inFlight = RP.post(() -> {
+            long t0 = System.nanoTime();
+            Project owner = owners.owner(file);
+            long ownerNanos = System.nanoTime() - t0;
+            List<Resolved> all = new ArrayList<>(targets.size());
+            for (Target target : targets) {
+                if (superseded(gen)) {
+                    return;
+                }
+                long t1 = System.nanoTime();
+                Node[] path = ProjectOwners.locate(target.view(), target.root(), file, owner);
+                all.add(new Resolved(file, owner, null, null, path,
+                        new Phases(ownerNanos, 0, System.nanoTime() - t1)));
+            }
+            EdtWatchdog.invokeLater("revealViews", () -> {
+                if (gen == generation) {
+                    edtStage.accept(all);
+                }
+            });
+        });
+    }
+
+    /**
+     * Locates several files below {@code locateUnder} in one request, superseding any previous
+     * one like {@link #submit} (EDT only). The EDT stage gets the node paths of the files the
+     * view shows, in the order of {@code files}.
+     */
+    void submitAll(List<FileObject> files, ViewKind view, Node locateUnder, Consumer<List<Node[]>> edtStage) {
+        assert SwingUtilities.isEventDispatchThread();
+        long gen = ++generation;
+        RequestProcessor.Task previous = inFlight;
+        if (previous != null) {
+            previous.cancel();
+        }
+        inFlight = RP.post(() -> {
+            List<Node[]> paths = new ArrayList<>(files.size());
+            for (FileObject fo : files) {
+                if (superseded(gen)) {
+                    return;
+                }
+                Node[] path = ProjectOwners.locate(view, locateUnder, fo, owners.owner(fo));
+                if (path != null) {
+                    paths.add(path);
+                }
+            }
+            EdtWatchdog.invokeLater("revealAll", () -> {
+                if (gen == generation) {
+                    edtStage.accept(paths);
+                }
+            });
+        });
+    }
+
+    /** Drops the in-flight request, if any. */
+    void cancel() {
+        generation++;
+        RequestProcessor.Task task = inFlight;
+        if (task != null) {
+            task.cancel();
+            inFlight = null;
+        }
+    }
+
+    private Resolved resolve(long gen, FileObject fo, boolean resolveNode, ViewKind view, Node locateUnder) {
+        long t0 = System.nanoTime();
+        Project owner = owners.owner(fo);
+        long t1 = System.nanoTime();
+        if (superseded(gen)) {
+            return null;
+        }
+        Node[] viewPath = null;
+        if (locateUnder != null) {
+            viewPath = ProjectOwners.locate(view, locateUnder, fo, owner);
+            if (superseded(gen)) {
+                return null;
+            }
+        }
+        long t2 = System.nanoTime();
+        if (!resolveNode) {
+            return new Resolved(fo, owner, null, null, viewPath, new Phases(t1 - t0, 0, t2 - t1));
+        }
+        DataObject dob;
+        try {
+            dob = DataObject.find(fo);
+        } catch (DataObjectNotFoundException ex) {
+            return null;
+        }
+        if (superseded(gen)) {
+            return null;
+        }
+        //provide a Node for a NodeAction
+        Node node = dob.getNodeDelegate();
+        if (node == null || superseded(gen)) {
+            return null;
+        }
+        return new Resolved(fo, owner, dob, node, viewPath, new Phases(t1 - t0, System.nanoTime() - t2, t2 - t1));
+    }
+
+    private boolean superseded(long gen) {
+        return gen != generation || Thread.currentThread().isInterrupted();
+    }
+}
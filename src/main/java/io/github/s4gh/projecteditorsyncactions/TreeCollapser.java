@@ -0,0 +1,177 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.swing.JTree;
+import javax.swing.SwingUtilities;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
+
+/**
+ * Bulk "Collapse All" for plain JTrees (Favorites and any view without a
+ * module-provided collapse action). EDT only.
+ * <p>
+ * Collapsing row by row fires expansion events, a layout-cache update and a size
+ * update for every expanded node, and each collapse shifts the remaining rows of the
+ * layout cache. Instead, only the top-level expanded paths are collapsed: each collapse
+ * drops all visible rows below it from the layout cache in one step and fires one
+ * expansion event, whatever is expanded underneath. Nothing is sent through the tree
+ * model, so model listeners (the explorer view, {@link TreeHandles}) see no change. As in
+ * the Projects view's own Collapse All, the nested expansion below a collapsed node is
+ * remembered and shows again when that node is expanded. The tree is revalidated once at
+ * the end.
+ * <p>
+ * The same batch can keep one path revealed ("collapse all except active file"), so a
+ * collapse followed by a reveal costs one relayout instead of two. {@link #revealAll} is the
+ * opposite batch: many paths revealed and selected with one selection update.
+ */
+final class TreeCollapser {
+
+    /** How many expanded nodes were hidden and how long it took. */
+    record Result(int collapsed, long nanos) {
+
+        long millis() {
+            return nanos / 1_000_000L;
+        }
+    }
+
+    private TreeCollapser() {
+    }
+
+    static Result collapseAll(JTree tree) {
+        return collapseAllExcept(tree, null);
+    }
+
+    /**
+     * Collapses everything except the ancestors of {@code keep}, then selects and scrolls to
+     * {@code keep}, all as one batch with a single revalidate at the end. Only the topmost
+     * expanded paths off the kept chain are collapsed: the children of the root, and the
+     * other expanded children of the nodes on the chain.
+     *
+     * @param keep path to leave revealed, or {@code null} to collapse everything
+     */
+    static Result collapseAllExcept(JTree tree, TreePath keep) {
+        assert SwingUtilities.isEventDispatchThread();
+        long start = System.nanoTime();
+        TreeModel model = tree.getModel();
+        Object root = model != null ? model.getRoot() : null;
+        if (root == null) {
+            return new Result(0, 0);
+        }
+        TreePath rootPath = new TreePath(root);
+
+        // expanded paths grouped under the topmost one that gets collapsed; ancestors of the
+        // kept path are skipped, they stay (or get) expanded anyway
+        Map<TreePath, Integer> topmost = new LinkedHashMap<>();
+        Enumeration<TreePath> expanded = tree.getExpandedDescendants(rootPath);
+        if (expanded != null) {
+            while (expanded.hasMoreElements()) {
+                TreePath p = expanded.nextElement();
+                if (p.getPathCount() < 2 || (keep != null && p.isDescendant(keep))) {
+                    continue; // the root stays expanded, otherwise the view is empty
+                }
+                int shared = keep != null ? sharedPrefix(p, keep) : 1;
+                topmost.merge(ancestorAt(p, shared + 1), 1, Integer::sum);
+            }
+        }
+
+        int collapsed = 0;
+        for (int count : topmost.values()) {
+            collapsed += count;
+        }
+        if (collapsed == 0 && keep == null) {
+            return new Result(0, System.nanoTime() - start);
+        }
+        boolean scrollsOnExpand = tree.getScrollsOnExpand();
+        tree.setScrollsOnExpand(false);
+        try {
+            // bottom-up: the rows each collapse drops are then the last ones of the layout
+            // cache's row list, instead of rows every later row has to be shifted over
+            List<TreePath> tops = new ArrayList<>(topmost.keySet());
+            for (int i = tops.size() - 1; i >= 0; i--) {
+                tree.collapsePath(tops.get(i));
+            }
+            if (keep != null) {
+                // expands just the collapsed part of the chain above the kept node
+                tree.makeVisible(keep);
+                tree.setSelectionPath(keep);
+            }
+        } finally {
+            tree.setScrollsOnExpand(scrollsOnExpand);
+        }
+        if (keep != null) {
+            tree.scrollPathToVisible(keep);
+        }
+        tree.revalidate();
+        tree.repaint();
+        return new Result(collapsed, System.nanoTime() - start);
+    }
+
+    /**
+     * Reveals every target and selects them all with one selection update. Targets are grouped
+     * by parent: each distinct parent that is not itself an ancestor of another is expanded
+     * once (which expands its collapsed ancestors on the way), so a subtree shared by many
+     * targets is expanded only once. Scrolls to the first target.
+     *
+     * @return how many parents were expanded
+     */
+    static int revealAll(JTree tree, List<TreePath> targets) {
+        assert SwingUtilities.isEventDispatchThread();
+        if (targets.isEmpty()) {
+            return 0;
+        }
+        // deepest parents first, so shallower ones already covered are skipped
+        List<TreePath> parents = new ArrayList<>(new LinkedHashSet<>(targets.stream()
+                .map(TreePath::getParentPath).filter(p -> p != null).toList()));
+        parents.sort((a, b) -> Integer.compare(b.getPathCount(), a.getPathCount()));
+        Set<TreePath> covered = new HashSet<>();
+        int expanded = 0;
+        boolean scrollsOnExpand = tree.getScrollsOnExpand();
+        tree.setScrollsOnExpand(false);
+        try {
+            for (TreePath parent : parents) {
+                if (covered.contains(parent)) {
+                    continue;
+                }
+                TreePath p = parent;
+                while (p != null && covered.add(p)) {
+                    p = p.getParentPath(); // stops at the first ancestor another parent covered
+                }
+                if (!tree.isExpanded(parent)) {
+                    tree.expandPath(parent);
+                    expanded++;
+                }
+            }
+            tree.setSelectionPaths(targets.toArray(TreePath[]::new));
+        } finally {
+            tree.setScrollsOnExpand(scrollsOnExpand);
+        }
+        tree.scrollPathToVisible(targets.get(0));
+        tree.revalidate();
+        tree.repaint();
+        return expanded;
+    }
+
+    /** Number of leading path components {@code a} and {@code b} have in common. */
+    private static int sharedPrefix(TreePath a, TreePath b) {
+        int n = Math.min(a.getPathCount(), b.getPathCount());
+        int i = 0;
+        while (i < n && a.getPathComponent(i).equals(b.getPathComponent(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    static TreePath ancestorAt(TreePath p, int pathCount) {
+        while (p.getPathCount() > pathCount) {
+            p = p.getParentPath();
+        }
+        return p;
+    }
+}
@@ -0,0 +1,279 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.event.ContainerAdapter;
+import java.awt.event.ContainerEvent;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.awt.Rectangle;
+import java.beans.PropertyChangeListener;
+import java.lang.ref.WeakReference;
+import javax.swing.JComponent;
+import javax.swing.JTree;
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
+import org.openide.explorer.view.BeanTreeView;
+import org.openide.explorer.view.Visualizer;
+import org.openide.filesystems.FileObject;
+import org.openide.nodes.Node;
+import org.openide.windows.TopComponent;
+
+/**
+ * Per-TopComponent cache of the BeanTreeView and JTree we work with (EDT only).
+ * <p>
+ * Both are discovered once by a component-hierarchy walk and then held through weak
+ * references in a client property of the TopComponent. The entry is dropped when the
+ * BeanTreeView leaves the TopComponent (container or hierarchy change), so repeat
+ * activations and button clicks do no traversal at all.
+ * <p>
+ * The entry also remembers the last file revealed in the view, with the tree path it was
+ * selected at and the generation of the tree model at that time. The generation is bumped
+ * by a listener on the model for every insertion, removal or structure change, and when
+ * the tree gets a different model, so {@link #showsRevealed} can tell a repeat sync of
+ * the same file from one that has to do work, without touching the nodes.
+ */
+final class TreeHandles {
+
+    // Client property on TopComponent holding its TreeHandles
+    private static final String CP_TREE_HANDLES = "s4gh.overlays.treeHandles";
+
+    private final WeakReference<TopComponent> owner;
+    private final WeakReference<BeanTreeView> btv;
+    private WeakReference<JTree> tree;
+
+    // Last reveal, valid while the model generation is unchanged
+    private int modelGeneration;
+    private TreeModel watchedModel;
+    private FileObject revealedFile;
+    private TreePath revealedPath;
+    private int revealedGeneration;
+
+    private final TreeModelListener modelListener = new TreeModelListener() {
+        @Override public void treeNodesChanged(TreeModelEvent e) {
+            // names and icons only; paths stay valid
+        }
+        @Override public void treeNodesInserted(TreeModelEvent e) {
+            modelGeneration++;
+        }
+        @Override public void treeNodesRemoved(TreeModelEvent e) {
+            modelGeneration++;
+        }
+        @Override public void treeStructureChanged(TreeModelEvent e) {
+            modelGeneration++;
+        }
+    };
+    private final PropertyChangeListener modelSwapListener = e -> watch((JTree) e.getSource());
+
+    private final HierarchyListener hierarchyListener = this::hierarchyChanged;
+    private final ContainerAdapter containerListener = new ContainerAdapter() {
+        @Override public void componentRemoved(ContainerEvent e) {
+            BeanTreeView view = btv.get();
+            if (view == null || SwingUtilities.isDescendingFrom(view, e.getChild())) {
+                invalidate();
+            }
+        }
+    };
+
+    private TreeHandles(TopComponent tc, BeanTreeView view) {
+        this.owner = new WeakReference<>(tc);
+        this.btv = new WeakReference<>(view);
+        view.addHierarchyListener(hierarchyListener);
+        tc.addContainerListener(containerListener);
+    }
+
+    /** BeanTreeView of the TopComponent, found once and then served from the cache. */
+    static BeanTreeView beanTreeView(TopComponent tc) {
+        TreeHandles handles = cached(tc);
+        if (handles != null) {
+            BeanTreeView view = handles.btv.get();
+            if (view != null) {
+                return view;
+            }
+            handles.invalidate();
+        }
+        BeanTreeView found = findChild(tc, BeanTreeView.class);
+        if (found != null) {
+            tc.putClientProperty(CP_TREE_HANDLES, new TreeHandles(tc, found));
+        }
+        return found;
+    }
+
+    /** JTree inside the TopComponent's BeanTreeView, or {@code null}. */
+    static JTree tree(TopComponent tc) {
+        BeanTreeView view = beanTreeView(tc);
+        if (view == null) {
+            return null;
+        }
+        TreeHandles handles = cached(tc);
+        JTree t = handles.tree != null ? handles.tree.get() : null;
+        // the view may swap its viewport content; a parent walk up to the view is enough to notice
+        if (t == null || !SwingUtilities.isDescendingFrom(t, view)) {
+            handles.unwatch();
+            t = resolveTreeFrom(view);
+            handles.tree = t != null ? new WeakReference<>(t) : null;
+            if (t != null) {
+                t.addPropertyChangeListener(JTree.TREE_MODEL_PROPERTY, handles.modelSwapListener);
+                handles.watch(t);
+            }
+        }
+        return t;
+    }
+
+    /**
+     * Whether the tree of the TopComponent has {@code fo} as its only selection, scrolled into
+     * view: either the remembered last reveal with an unchanged model, or (checked against the
+     * nodes, then remembered) a selection made some other way, e.g. by a built-in action.
+     */
+    static boolean showsRevealed(TopComponent tc, FileObject fo) {
+        JTree t = tree(tc);
+        TreeHandles handles = cached(tc);
+        if (t == null || handles == null || fo == null || t.getSelectionCount() != 1) {
+            return false;
+        }
+        TreePath selected = t.getSelectionPath();
+        if (!(fo.equals(handles.revealedFile) && handles.revealedGeneration == handles.modelGeneration
+                && selected.equals(handles.revealedPath))) {
+            if (!fo.equals(fileAt(selected))) {
+                return false;
+            }
+            handles.remember(fo, selected);
+        }
+        return isScrolledTo(t, selected);
+    }
+
+    /** Remembers {@code fo} as revealed when the tree now selects just its node (after a reveal). */
+    static void noteRevealed(TopComponent tc, FileObject fo) {
+        JTree t = tree(tc);
+        TreeHandles handles = cached(tc);
+        if (t == null || handles == null) {
+            return;
+        }
+        TreePath selected = t.getSelectionCount() == 1 ? t.getSelectionPath() : null;
+        if (fo != null && selected != null && fo.equals(fileAt(selected))) {
+            handles.remember(fo, selected);
+        } else {
+            handles.remember(null, null); // built-in actions select later; checked next time
+        }
+    }
+
+    private void remember(FileObject fo, TreePath path) {
+        revealedFile = fo;
+        revealedPath = path;
+        revealedGeneration = modelGeneration;
+    }
+
+    private static FileObject fileAt(TreePath path) {
+        Node node = Visualizer.findNode(path.getLastPathComponent());
+        return node != null ? NodeLocator.fileOf(node) : null;
+    }
+
+    private static boolean isScrolledTo(JTree t, TreePath path) {
+        Rectangle bounds = t.getPathBounds(path); // null when an ancestor is collapsed
+        Rectangle visible = t.getVisibleRect();
+        return bounds != null && bounds.y >= visible.y && bounds.y + bounds.height <= visible.y + visible.height;
+    }
+
+    /** Follows the tree's current model; any model swap is a new generation. */
+    private void watch(JTree t) {
+        if (watchedModel != null) {
+            watchedModel.removeTreeModelListener(modelListener);
+        }
+        watchedModel = t.getModel();
+        if (watchedModel != null) {
+            watchedModel.addTreeModelListener(modelListener);
+        }
+        modelGeneration++;
+    }
+
+    private void unwatch() {
+        JTree t = tree != null ? tree.get() : null;
+        if (t != null) {
+            t.removePropertyChangeListener(JTree.TREE_MODEL_PROPERTY, modelSwapListener);
+        }
+        if (watchedModel != null) {
+            watchedModel.removeTreeModelListener(modelListener);
+            watchedModel = null;
+        }
+        remember(null, null);
+    }
+
+    /** Forgets the cached handles of the TopComponent, if any. */
+    static void invalidate(TopComponent tc) {
+        TreeHandles handles = cached(tc);
+        if (handles != null) {
+            handles.invalidate();
+        }
+    }
+
+    private static TreeHandles cached(TopComponent tc) {
+        Object o = tc.getClientProperty(CP_TREE_HANDLES);
+        return o instanceof TreeHandles ? (TreeHandles) o : null;
+    }
+
+    private void hierarchyChanged(HierarchyEvent e) {
+        if ((e.getChangeFlags() & HierarchyEvent.PARENT_CHANGED) == 0) {
+            return;
+        }
+        BeanTreeView view = btv.get();
+        TopComponent tc = owner.get();
+        if (view == null || tc == null || !SwingUtilities.isDescendingFrom(view, tc)) {
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        BeanTreeView view = btv.get();
+        if (view != null) {
+            view.removeHierarchyListener(hierarchyListener);
+        }
+        TopComponent tc = owner.get();
+        if (tc != null) {
+            tc.removeContainerListener(containerListener);
+            if (tc.getClientProperty(CP_TREE_HANDLES) == this) {
+                tc.putClientProperty(CP_TREE_HANDLES, null);
+            }
+        }
+        unwatch();
+        btv.clear();
+        tree = null;
+    }
+
+    // ------------------------ hierarchy walks ------------------------
+
+    /** Depth-first search for a child of the given type within a container (EDT only). */
+    static <T extends Component> T findChild(Container parent, Class<T> type) {
+        // Caller ensures EDT; keep fast and simple
+        for (Component c : parent.getComponents()) {
+            if (type.isInstance(c)) {
+                return type.cast(c);
+            }
+            if (c instanceof Container) {
+                T found = findChild((Container) c, type);
+                if (found != null) return found;
+            }
+        }
+        return null;
+    }
+
+    /** Try to get the JTree used inside a BeanTreeView (EDT only). */
+    static JTree resolveTreeFrom(BeanTreeView btv) {
+        if (btv == null) return null;
+        JViewport vp = btv.getViewport();
+        if (vp == null) {
+            return null;
+        }
+        Component v = vp.getView();
+        if (v instanceof JTree) {
+            return (JTree) v;
+        }
+        if (v instanceof JComponent) {
+            return findChild((JComponent) v, JTree.class);
+        }
+        return null;
+    }
+}
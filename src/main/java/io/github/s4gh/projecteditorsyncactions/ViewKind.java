@@ -0,0 +1,194 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.openide.util.Lookup;
+import org.openide.util.LookupListener;
+import org.openide.windows.TopComponent;
+import org.openide.windows.WindowManager;
+
+/**
+ * Which explorer view a TopComponent is, as far as this module is concerned.
+ * <p>
+ * Projects, Files and Favorites are built in; further views come from
+ * {@link ExplorerViewAdapter}s in the default lookup. All of them are kept in one table
+ * keyed by TopComponent ID, built on first use and rebuilt only when the registered
+ * adapters change, so classifying any TopComponent is one hash probe however many
+ * adapters there are. Classification also needs a {@code findTopComponentID} call, so it
+ * is done once per TopComponent and remembered in a client property; every later
+ * activation of the same window is a single client-property read.
+ */
+final class ViewKind {
+
+    private static final Logger LOG = Logger.getLogger(ViewKind.class.getName());
+
+    /** Projects (Logical). */
+    static final ViewKind LOGICAL = new ViewKind("LOGICAL",
+            new BuiltInViews.Projects("projectTabLogical_tc", ActionResolver.SELECT_IN_PROJECTS), true);
+    /** Files (Physical). */
+    static final ViewKind PHYSICAL = new ViewKind("PHYSICAL",
+            new BuiltInViews.Projects("projectTab_tc", ActionResolver.SELECT_IN_FILES), true);
+    /** Favorites. */
+    static final ViewKind FAVORITES = new ViewKind("FAVORITES", new BuiltInViews.Favorites(), false);
+    /** Any other TopComponent. */
+    static final ViewKind UNSUPPORTED = new ViewKind("UNSUPPORTED", null, false);
+
+    private static final List<ViewKind> BUILT_IN = List.of(LOGICAL, PHYSICAL, FAVORITES);
+
+    // Client property on TopComponent holding its Classified
+    private static final String CP_VIEW_KIND = "s4gh.overlays.viewKind";
+
+    /** The dispatch table and its generation; a TopComponent classified under an older one is reclassified. */
+    private record Table(Map<String, ViewKind> byId, int generation) {
+    }
+
+    private record Classified(ViewKind kind, int generation) {
+    }
+
+    private static final Object LOCK = new Object();
+    private static volatile Table table;
+    private static int generation;
+    private static Lookup.Result<ExplorerViewAdapter> registered;
+    private static final LookupListener ADAPTERS_CHANGED = ev -> {
+        synchronized (LOCK) {
+            table = null;
+        }
+    };
+
+    private final String name;
+    /** TopComponent ID of the view, {@code null} for {@link #UNSUPPORTED}. */
+    final String id;
+    private final ExplorerViewAdapter adapter;
+    private final boolean projects;
+
+    private ViewKind(String name, ExplorerViewAdapter adapter, boolean projects) {
+        this.name = name;
+        this.id = adapter != null ? adapter.topComponentId() : null;
+        this.adapter = adapter;
+        this.projects = projects;
+    }
+
+    /** Constant name for the built-in views, the TopComponent ID for adapter-provided ones. */
+    String name() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /** Collapse and reveal strategies of the view; {@code null} for {@link #UNSUPPORTED}. */
+    ExplorerViewAdapter adapter() {
+        return adapter;
+    }
+
+    boolean isSupported() {
+        return this != UNSUPPORTED;
+    }
+
+    /** Projects or Files: the views served by the project UI module actions. */
+    boolean isProjects() {
+        return projects;
+    }
+
+    /** Whether a reveal needs the file's Node rather than its node path in the view. */
+    boolean revealsByNode() {
+        return adapter != null && adapter.revealsByNode();
+    }
+
+    /** Open TopComponent for this view, or {@code null} when it does not exist yet. */
+    TopComponent find() {
+        return id != null ? WindowManager.getDefault().findTopComponent(id) : null;
+    }
+
+    static ViewKind of(TopComponent tc) {
+        if (tc == null) {
+            return UNSUPPORTED;
+        }
+        Table t = table();
+        if (tc.getClientProperty(CP_VIEW_KIND) instanceof Classified c && c.generation() == t.generation()) {
+            return c.kind();
+        }
+        String id = WindowManager.getDefault().findTopComponentID(tc);
+        if (id == null) {
+            return UNSUPPORTED; // not known to the window system yet; classify on a later call
+        }
+        ViewKind kind = t.byId().getOrDefault(id, UNSUPPORTED);
+        tc.putClientProperty(CP_VIEW_KIND, new Classified(kind, t.generation()));
+        return kind;
+    }
+
+    /** Classifies a TopComponent up front, for harnesses running without a window system. */
+    static void assign(TopComponent tc, ViewKind kind) {
+        tc.putClientProperty(CP_VIEW_KIND, new Classified(kind, table().generation()));
+    }
+
+    /** Drops the cached kind, so no TopComponent keeps a reference into this module after uninstall. */
+    static void forget(TopComponent tc) {
+        tc.putClientProperty(CP_VIEW_KIND, null);
+    }
+
+    static ViewKind forId(String id) {
+        return id != null ? table().byId().getOrDefault(id, UNSUPPORTED) : UNSUPPORTED;
+    }
+
+    /** Every supported view, built in and registered. */
+    static Collection<ViewKind> values() {
+        return table().byId().values();
+    }
+
+    /** Stops listening for adapter registrations (module uninstall). */
+    static void dispose() {
+        synchronized (LOCK) {
+            if (registered != null) {
+                registered.removeLookupListener(ADAPTERS_CHANGED);
+                registered = null;
+            }
+            table = null;
+        }
+    }
+
+    private static Table table() {
+        Table t = table;
+        if (t != null) {
+            return t;
+        }
+        synchronized (LOCK) {
+            if (table == null) {
+                if (registered == null) {
+                    registered = Lookup.getDefault().lookupResult(ExplorerViewAdapter.class);
+                    registered.addLookupListener(ADAPTERS_CHANGED);
+                }
+                table = build(registered.allInstances(), ++generation);
+            }
+            return table;
+        }
+    }
+
+    private static Table build(Collection<? extends ExplorerViewAdapter> adapters, int gen) {
+        Map<String, ViewKind> byId = new HashMap<>();
+        for (ViewKind kind : BUILT_IN) {
+            byId.put(kind.id, kind);
+        }
+        List<String> ignored = new ArrayList<>();
+        for (ExplorerViewAdapter adapter : adapters) {
+            String id = adapter.topComponentId();
+            if (id == null || byId.containsKey(id)) {
+                ignored.add(adapter.getClass().getName());
+                continue;
+            }
+            byId.put(id, new ViewKind(id, adapter, false));
+        }
+        if (!ignored.isEmpty()) {
+            LOG.log(Level.INFO, "Ignoring explorer view adapters without an ID or for a view already handled: {0}",
+                    ignored);
+        }
+        return new Table(Map.copyOf(byId), gen);
+    }
+}
@@ -0,0 +1,178 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.awt.BorderLayout;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.swing.JTree;
+import javax.swing.SwingUtilities;
+import org.junit.jupiter.api.Test;
+import org.openide.explorer.ExplorerManager;
+import org.openide.explorer.view.BeanTreeView;
+import org.openide.windows.TopComponent;
+
+/**
+ * Headless open/close churn of explorer views against {@link Installer}: the header
+ * lifecycle must not leak. A bounded version of the {@code ChurnStress} harness in
+ * {@code benchmarks}, which keeps the full-size run.
+ * <p>
+ * Every cycle opens, installs on and closes a fresh Projects or Favorites TopComponent,
+ * and does the same on two long-lived views (the real ones are singletons that get
+ * reopened). Fails on retained heap growth after warm-up, listener counts drifting on the
+ * long-lived views, closed fresh views that stay reachable, or anything
+ * {@link Installer#tearDown()} leaves behind.
+ */
+class ChurnStressTest {
+
+    private static final int CYCLES = 1_000;
+    private static final int WARMUP = 100;
+    private static final int SAMPLE_EVERY = 100;
+    private static final long MAX_RETAINED_BYTES = 4L << 20;
+
+    // client properties the module may put on a TopComponent or its BeanTreeView
+    private static final String[] TC_PROPERTIES = {
+        "s4gh.overlays.viewKind", "s4gh.overlays.treeHandles", "s4gh.overlays.lazyTrigger",
+        "s4gh.overlays.tcContainerListener"
+    };
+    private static final String[] VIEW_PROPERTIES = {
+        "s4gh.overlays.installed", "s4gh.overlays.header", "s4gh.overlays.originalHeaderView",
+        "s4gh.follow.lastFile"
+    };
+
+    /** Stand-in for Projects/Files/Favorites: an ExplorerManager.Provider holding a BeanTreeView. */
+    private static final class ExplorerView extends TopComponent implements ExplorerManager.Provider {
+        private final ExplorerManager manager = new ExplorerManager();
+        final BeanTreeView view = new BeanTreeView();
+
+        ExplorerView(ViewKind kind) {
+            setLayout(new BorderLayout());
+            add(view, BorderLayout.CENTER);
+            ViewKind.assign(this, kind); // no window system to ask for the TopComponent ID
+        }
+
+        @Override public ExplorerManager getExplorerManager() {
+            return manager;
+        }
+    }
+
+    private final List<String> failures = new ArrayList<>();
+
+    @Test
+    void headerLifecycleDoesNotLeak() throws Exception {
+        SwingUtilities.invokeAndWait(this::run);
+        assertEquals(List.of(), failures);
+    }
+
+    private void run() {
+        Installer installer = new Installer();
+        ExplorerView projects = new ExplorerView(ViewKind.LOGICAL);
+        ExplorerView favorites = new ExplorerView(ViewKind.FAVORITES);
+        int[] pristineProjects = listenerCounts(projects);
+        int[] pristineFavorites = listenerCounts(favorites);
+        int[] steadyProjects = null;
+        int[] steadyFavorites = null;
+
+        List<WeakReference<TopComponent>> closed = new ArrayList<>();
+        long baseline = 0;
+        for (int i = 0; i < CYCLES; i++) {
+            ExplorerView fresh = new ExplorerView(i % 2 == 0 ? ViewKind.LOGICAL : ViewKind.FAVORITES);
+            cycle(installer, fresh);
+            cycle(installer, projects);
+            cycle(installer, favorites);
+            if (i == 0) {
+                steadyProjects = listenerCounts(projects);
+                steadyFavorites = listenerCounts(favorites);
+            } else {
+                expectCounts("Projects after cycle " + i, steadyProjects, listenerCounts(projects));
+                expectCounts("Favorites after cycle " + i, steadyFavorites, listenerCounts(favorites));
+            }
+            if (i % SAMPLE_EVERY == 0) {
+                closed.add(new WeakReference<>(fresh));
+            }
+            if (i == WARMUP) {
+                baseline = usedHeap();
+            }
+            if (failures.size() > 20) {
+                return; // the first few are enough to go on
+            }
+        }
+
+        long retained = usedHeap() - baseline;
+        if (retained > MAX_RETAINED_BYTES) {
+            failures.add("retained heap grew by " + (retained >> 10) + " KB");
+        }
+        int alive = 0;
+        for (WeakReference<TopComponent> ref : closed) {
+            if (ref.get() != null) {
+                alive++;
+            }
+        }
+        if (alive > 0) {
+            failures.add(alive + " of " + closed.size() + " sampled closed views are still reachable");
+        }
+
+        installer.tearDown();
+        expectCounts("Projects after teardown", pristineProjects, listenerCounts(projects));
+        expectCounts("Favorites after teardown", pristineFavorites, listenerCounts(favorites));
+        expectClean(projects);
+        expectClean(favorites);
+    }
+
+    /** What the registry listener does for an opened, activated and closed supported view. */
+    private static void cycle(Installer installer, TopComponent tc) {
+        installer.viewOpened(tc);
+        installer.ensureButtonsInstalled(tc);
+        installer.viewClosed(tc);
+    }
+
+    /** TopComponent container/hierarchy, BeanTreeView hierarchy and JTree mouse listener counts. */
+    private static int[] listenerCounts(ExplorerView tc) {
+        BeanTreeView view = tc.view;
+        JTree tree = TreeHandles.resolveTreeFrom(view);
+        return new int[] {
+            tc.getContainerListeners().length,
+            tc.getHierarchyListeners().length,
+            view.getHierarchyListeners().length,
+            tree != null ? tree.getMouseListeners().length : 0
+        };
+    }
+
+    private void expectCounts(String what, int[] expected, int[] actual) {
+        if (!Arrays.equals(expected, actual)) {
+            failures.add(what + ": listener counts " + Arrays.toString(actual)
+                    + ", expected " + Arrays.toString(expected));
+        }
+    }
+
+    private void expectClean(ExplorerView tc) {
+        for (String key : TC_PROPERTIES) {
+            if (tc.getClientProperty(key) != null) {
+                failures.add("TopComponent keeps " + key + " after teardown");
+            }
+        }
+        for (String key : VIEW_PROPERTIES) {
+            if (tc.view.getClientProperty(key) != null) {
+                failures.add("BeanTreeView keeps " + key + " after teardown");
+            }
+        }
+        if (tc.view.getColumnHeader() != null && tc.view.getColumnHeader().getView() != null) {
+            failures.add("BeanTreeView header not restored after teardown");
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.s4gh.projecteditorsyncactions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.awt.event.ActionEvent;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.AbstractAction;
+import javax.swing.JButton;
+import javax.swing.SwingUtilities;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Headless editor open/close churn against {@link PresenterHub}: toolbar presenters must
+ * not accumulate listeners on the built-in action. A bounded version of the
+ * {@code PresenterChurn} harness in {@code benchmarks}, which keeps the full-size run.
+ * <p>
+ * Every cycle "opens an editor" (creates one presenter, as an editor toolbar does),
+ * toggles the action's enablement and "closes" the oldest editor once more than
+ * {@link #OPEN_EDITORS} are open. Fails when the action ever has other than one listener,
+ * presenters of closed editors stay reachable, a click misses the current action, or the
+ * old action keeps a listener after it is replaced (module reload).
+ */
+class PresenterChurnTest {
+
+    private static final int CYCLES = 2_000;
+    private static final int OPEN_EDITORS = 50;
+
+    /** Stands in for a built-in "Select in" action. */
+    private static final class BuiltIn extends AbstractAction {
+        int performed;
+
+        BuiltIn() {
+            super("Select in &Projects");
+            putValue(SHORT_DESCRIPTION, "Select in Projects (Ctrl+Shift+1)");
+        }
+
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            performed++;
+        }
+
+        int listeners() {
+            return getPropertyChangeListeners().length;
+        }
+    }
+
+    private final List<String> failures = new ArrayList<>();
+    private BuiltIn action = new BuiltIn();
+
+    @Test
+    void presentersShareOneListener() throws Exception {
+        SwingUtilities.invokeAndWait(this::run);
+        assertEquals(List.of(), failures);
+    }
+
+    private void run() {
+        PresenterHub hub = new PresenterHub("Select in Projects", () -> action);
+        List<JButton> open = new ArrayList<>();
+        List<WeakReference<JButton>> closed = new ArrayList<>();
+        for (int i = 0; i < CYCLES; i++) {
+            open.add(hub.presenter());
+            action.setEnabled(i % 2 == 0);
+            if (open.size() > OPEN_EDITORS) {
+                JButton gone = open.remove(0);
+                if (i % 100 == 0) {
+                    closed.add(new WeakReference<>(gone));
+                }
+            }
+            if (action.listeners() != 1) {
+                failures.add("cycle " + i + ": " + action.listeners() + " listeners on the action with "
+                        + open.size() + " editors open");
+            }
+            if (failures.size() > 20) {
+                return; // the first few are enough to go on
+            }
+        }
+
+        // hidden presenters are not updated eagerly (headless, none is showing); a new one
+        // starts from the current state and invokes the live action
+        action.setEnabled(true);
+        JButton fresh = hub.presenter();
+        open.add(fresh);
+        int before = action.performed;
+        fresh.doClick();
+        if (!fresh.isEnabled() || action.performed != before + 1) {
+            failures.add("clicking a new presenter did not invoke the enabled action");
+        }
+
+        collect();
+        int alive = 0;
+        for (WeakReference<JButton> ref : closed) {
+            if (ref.get() != null) {
+                alive++;
+            }
+        }
+        if (alive > 0) {
+            failures.add(alive + " of " + closed.size() + " sampled closed presenters are still reachable");
+        }
+        if (hub.presenterCount() > open.size()) {
+            failures.add("hub tracks " + hub.presenterCount() + " presenters, " + open.size() + " are open");
+        }
+
+        // module providing the action reloaded: the next presenter rebinds the hub
+        BuiltIn old = action;
+        action = new BuiltIn();
+        open.add(hub.presenter());
+        if (old.listeners() != 0 || action.listeners() != 1) {
+            failures.add("after rebinding: " + old.listeners() + " listener(s) on the old action, "
+                    + action.listeners() + " on the new one");
+        }
+    }
+
+    private static void collect() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}